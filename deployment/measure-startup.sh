@@ -0,0 +1,22 @@
+#!/bin/sh
+# Mide el tiempo hasta que READY_PATH (default: /actuator/health) responde y la memoria residente (RSS)
+# del proceso.
+# Uso: deployment/measure-startup.sh java -jar target/client-service-1.0-SNAPSHOT.jar
+#      deployment/measure-startup.sh target/client-service
+PORT=${PORT:-8090}
+READY_PATH=${READY_PATH:-/actuator/health}
+start=$(date +%s%N)
+"$@" > /dev/null 2>&1 &
+pid=$!
+until curl -sf "http://localhost:${PORT}${READY_PATH}" > /dev/null; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+        echo "El proceso termino antes de estar listo" >&2
+        exit 1
+    fi
+    sleep 0.01
+done
+ready=$(( ($(date +%s%N) - start) / 1000000 ))
+rss=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")
+echo "listo_ms=${ready} rss_kb=${rss}"
+kill "$pid"
+wait "$pid" 2> /dev/null || true
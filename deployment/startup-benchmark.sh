@@ -0,0 +1,25 @@
+#!/bin/sh
+# Tiempo hasta la primera respuesta de /api/v1/user y RSS en los modos plain, cds y crac.
+# Uso: APP_HOME=target/app deployment/startup-benchmark.sh [repeticiones]
+# Los modos sin archivo AppCDS (app.jsa) o sin checkpoint se omiten.
+DIR=$(cd "$(dirname "$0")" && pwd)
+APP_HOME=${APP_HOME:-/opt/app}
+RUNS=${1:-3}
+export APP_HOME READY_PATH="/api/v1/user?documentType=C&documentNumber=23445322"
+
+for mode in plain cds crac; do
+    if [ "$mode" = cds ] && [ ! -f "$APP_HOME/app.jsa" ]; then
+        echo "modo=cds omitido: no existe $APP_HOME/app.jsa"
+        continue
+    fi
+    if [ "$mode" = crac ] && [ ! -d "$APP_HOME/checkpoint" ]; then
+        echo "modo=crac omitido: no existe $APP_HOME/checkpoint"
+        continue
+    fi
+    i=0
+    while [ "$i" -lt "$RUNS" ]; do
+        printf 'modo=%s ' "$mode"
+        STARTUP_MODE=$mode "$DIR/measure-startup.sh" sh "$DIR/startup.sh"
+        i=$((i + 1))
+    done
+done
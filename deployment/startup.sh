@@ -0,0 +1,49 @@
+#!/bin/sh
+# Arranque de la aplicacion extraida en APP_HOME (application.jar + lib/) segun STARTUP_MODE:
+#   extract     extrae el JAR ejecutable indicado como argumento en APP_HOME
+#   train       ejecucion de entrenamiento contra /api/v1/user; al terminar la JVM vuelca app.jsa (AppCDS)
+#   checkpoint  ejecucion de entrenamiento que termina en un checkpoint CRaC en APP_HOME/checkpoint
+#   plain       arranque normal
+#   cds         arranque con el archivo AppCDS
+#   crac        restaura el checkpoint CRaC (requiere una JVM con CRaC)
+APP_HOME=${APP_HOME:-/opt/app}
+MAIN_CLASS=co.com.prueba.Application
+TRAINING="-Dstartup.training.enabled=true"
+
+case "${STARTUP_MODE:-plain}" in
+    extract)
+        # AppCDS solo archiva clases cargadas desde JAR planos del classpath, no desde el JAR anidado
+        tmp=$(mktemp -d)
+        (cd "$tmp" && jar -xf "$1") || exit 1
+        mkdir -p "$APP_HOME"
+        rm -rf "$APP_HOME/lib" && mv "$tmp/BOOT-INF/lib" "$APP_HOME/lib"
+        # Mismo orden que classpath.idx del JAR ejecutable: hay clases repetidas entre dependencias
+        sed -n 's|^- "BOOT-INF/\(lib/.*\)"$|\1|p' "$tmp/BOOT-INF/classpath.idx" | tr '\n' ':' > "$APP_HOME/classpath"
+        jar --create --file "$APP_HOME/application.jar" -C "$tmp/BOOT-INF/classes" .
+        rm -rf "$tmp"
+        exit 0
+        ;;
+esac
+
+cd "$APP_HOME" || exit 1
+CLASSPATH="application.jar:$(cat classpath)"
+
+case "${STARTUP_MODE:-plain}" in
+    train)
+        exec java -XX:ArchiveClassesAtExit=app.jsa $TRAINING -Dstartup.training.on-complete=exit \
+            $JAVA_OPTS -cp "$CLASSPATH" $MAIN_CLASS
+        ;;
+    checkpoint)
+        exec java -XX:CRaCCheckpointTo=checkpoint $TRAINING -Dstartup.training.on-complete=checkpoint \
+            $JAVA_OPTS -cp "$CLASSPATH" $MAIN_CLASS
+        ;;
+    cds)
+        exec java -XX:SharedArchiveFile=app.jsa $JAVA_OPTS -cp "$CLASSPATH" $MAIN_CLASS
+        ;;
+    crac)
+        exec java -XX:CRaCRestoreFrom=checkpoint $JAVA_OPTS
+        ;;
+    *)
+        exec java $JAVA_OPTS -cp "$CLASSPATH" $MAIN_CLASS
+        ;;
+esac
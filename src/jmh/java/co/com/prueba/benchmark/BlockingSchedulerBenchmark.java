@@ -0,0 +1,73 @@
+package co.com.prueba.benchmark;
+
+import co.com.prueba.adapter.blocking.BlockingUserRepositoryAdapter;
+import co.com.prueba.config.UserRepositoryProperties;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de completar {@code lookups} consultas concurrentes a un repositorio bloqueante que tarda
+ * {@code latencyMs} por consulta, con hilos virtuales frente a {@code boundedElastic}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BlockingSchedulerBenchmark {
+
+    @Param({"VIRTUAL", "BOUNDED_ELASTIC"})
+    private UserRepositoryProperties.SchedulerType scheduler;
+
+    @Param("10000")
+    private int lookups;
+
+    @Param("10")
+    private long latencyMs;
+
+    private BlockingUserRepositoryAdapter adapter;
+
+    @Setup
+    public void setUp() {
+        var properties = new UserRepositoryProperties();
+        properties.getBlocking().setScheduler(scheduler);
+        properties.getBlocking().setMaxConcurrency(lookups);
+        properties.getBlocking().setPinningDetection(false);
+        var user = UserResponse.builder().firstName("Daniel").build();
+        adapter = new BlockingUserRepositoryAdapter(request -> {
+            Thread.sleep(latencyMs);
+            return user;
+        }, properties, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        adapter.close();
+    }
+
+    @Benchmark
+    public Long concurrentLookups() {
+        return Flux.range(0, lookups)
+                .flatMap(i -> adapter.findByUser(new UserRequest("C", String.valueOf(i))), lookups)
+                .count()
+                .block();
+    }
+}
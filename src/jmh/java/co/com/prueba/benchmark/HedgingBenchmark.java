@@ -0,0 +1,77 @@
+package co.com.prueba.benchmark;
+
+import co.com.prueba.adapter.hedge.HedgeBudget;
+import co.com.prueba.adapter.hedge.HedgingReplicaRouter;
+import co.com.prueba.adapter.hedge.LatencyPercentile;
+import co.com.prueba.config.UserRepositoryProperties;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Banco local de coberturas: dos replicas simuladas que responden en 1-3 ms y, con probabilidad
+ * {@code slowPercent}, en {@code slowMs}. Compara la distribucion de latencia de una replica sola con la de
+ * {@link HedgingReplicaRouter} sobre ambas, con la configuracion por defecto de adapter.user.hedge.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class HedgingBenchmark {
+
+    @Param({"false", "true"})
+    private boolean hedge;
+
+    @Param("2")
+    private int slowPercent;
+
+    @Param("50")
+    private long slowMs;
+
+    private UserRepository repository;
+    private UserRequest request;
+
+    @Setup
+    public void setUp() {
+        var user = UserResponse.builder().firstName("Daniel").build();
+        UserRepository replica = lookup -> Mono.defer(() -> {
+            var random = ThreadLocalRandom.current();
+            long micros = random.nextInt(100) < slowPercent
+                    ? TimeUnit.MILLISECONDS.toMicros(slowMs)
+                    : 1_000 + random.nextInt(2_000);
+            return Mono.delay(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(micros))).thenReturn(user);
+        });
+        var properties = new UserRepositoryProperties().getHedge();
+        repository = hedge
+                ? new HedgingReplicaRouter(List.of(replica, replica),
+                new LatencyPercentile(properties.getPercentile(), properties.getWindowSize(),
+                        properties.getMinSamples(), properties.getInitialDelay().toNanos()),
+                new HedgeBudget(properties.getBudget(), properties.getMaxTokens()), properties.getMinDelay())
+                : replica;
+        request = new UserRequest("C", "23445322");
+    }
+
+    @Benchmark
+    public UserResponse findUser() {
+        return repository.findByUser(request).block();
+    }
+}
@@ -0,0 +1,89 @@
+package co.com.prueba.benchmark;
+
+import co.com.prueba.adapter.UserServiceAdapter;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.usecase.UserUseCase;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cada etapa de la consulta por documento por separado: validacion (tipo y numero), rechazo de una
+ * solicitud invalida, adaptador (acierto y fallo), caso de uso completo y serializacion JSON de
+ * {@link UserResponse}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupStagesBenchmark {
+
+    private UserServiceAdapter userServiceAdapter;
+    private UserUseCase userUseCase;
+    private ObjectMapper objectMapper;
+    private UserRequest hit;
+    private UserRequest miss;
+    private UserRequest malformed;
+    private UserResponse userResponse;
+
+    @Setup
+    public void setUp() {
+        userServiceAdapter = new UserServiceAdapter();
+        userUseCase = new UserUseCase(userServiceAdapter);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        hit = UserRequest.builder().documentType("C").documentNumber("23445322").build();
+        miss = UserRequest.builder().documentType("C").documentNumber("99999999").build();
+        malformed = UserRequest.builder().documentType("C").documentNumber("23.445.322").build();
+        userResponse = userServiceAdapter.findByUser(hit).block();
+    }
+
+    @Benchmark
+    public boolean documentTypeValidate() {
+        return userUseCase.documentTypeValidate(hit);
+    }
+
+    @Benchmark
+    public String requestValidation() {
+        return userUseCase.validationError(hit);
+    }
+
+    @Benchmark
+    public UserResponse findUserByDocumentBadRequest() {
+        return userUseCase.findUserByDocument(malformed).onErrorReturn(userResponse).block();
+    }
+
+    @Benchmark
+    public UserResponse adapterFindByUserHit() {
+        return userServiceAdapter.findByUser(hit).block();
+    }
+
+    @Benchmark
+    public UserResponse adapterFindByUserMiss() {
+        return userServiceAdapter.findByUser(miss).onErrorReturn(userResponse).block();
+    }
+
+    @Benchmark
+    public UserResponse findUserByDocument() {
+        return userUseCase.findUserByDocument(hit).block();
+    }
+
+    @Benchmark
+    public byte[] serializeUserResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userResponse);
+    }
+}
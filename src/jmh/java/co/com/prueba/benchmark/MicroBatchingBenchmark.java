@@ -0,0 +1,108 @@
+package co.com.prueba.benchmark;
+
+import co.com.prueba.adapter.batch.MicroBatchingDecorator;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code lookups} consultas individuales concurrentes contra un backend que tarda {@code latencyMs} por ida y
+ * vuelta, con y sin {@link MicroBatchingDecorator}. Las llamadas al backend por operacion salen en el resultado
+ * como el contador auxiliar {@code backendCallsPerOp}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MicroBatchingBenchmark {
+
+    @Param({"false", "true"})
+    private boolean batch;
+
+    @Param("1000")
+    private int lookups;
+
+    @Param("2")
+    private long latencyMs;
+
+    private final AtomicLong backendCalls = new AtomicLong();
+    private UserRepository repository;
+
+    /**
+     * Contador auxiliar de JMH; se reinicia en cada iteracion.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class BackendCalls {
+        private long calls;
+        private long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            calls = 0;
+            operations = 0;
+        }
+
+        public double backendCallsPerOp() {
+            return operations == 0 ? 0 : (double) calls / operations;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        var user = UserResponse.builder().firstName("Daniel").build();
+        var latency = Duration.ofMillis(latencyMs);
+        UserRepository backend = new UserRepository() {
+            @Override
+            public Mono<UserResponse> findByUser(UserRequest request) {
+                backendCalls.incrementAndGet();
+                return Mono.delay(latency).thenReturn(user);
+            }
+
+            @Override
+            public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+                return requests.collectList()
+                        .doOnNext(list -> backendCalls.incrementAndGet())
+                        .delayElement(latency)
+                        .flatMapIterable(list -> list.stream()
+                                .map(request -> UserLookupResult.found(request, user))
+                                .toList());
+            }
+        };
+        repository = batch ? new MicroBatchingDecorator(backend, 64, Duration.ofMillis(2)) : backend;
+    }
+
+    @Benchmark
+    public Long concurrentLookups(BackendCalls counters) {
+        long before = backendCalls.get();
+        var found = Flux.range(0, lookups)
+                .flatMap(i -> repository.findByUser(new UserRequest("C", String.valueOf(10_000 + i))), lookups)
+                .count()
+                .block();
+        counters.calls += backendCalls.get() - before;
+        counters.operations++;
+        return found;
+    }
+}
@@ -0,0 +1,87 @@
+package co.com.prueba.benchmark;
+
+import co.com.prueba.adapter.resilience.StaleWhileRevalidateDecorator;
+import co.com.prueba.config.UserRepositoryConfig;
+import co.com.prueba.config.UserRepositoryProperties;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de una consulta durante un incidente del backend: cada llamada tarda {@code incidentMs} y falla.
+ * Sin el decorador cada solicitud espera al backend; con el decorador los {@code knownUsers} documentos
+ * consultados antes del incidente se sirven desde la ultima respuesta buena y el resto falla rapido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ResilienceBenchmark {
+
+    @Param({"false", "true"})
+    private boolean resilience;
+
+    @Param("200")
+    private long incidentMs;
+
+    @Param("100")
+    private int knownUsers;
+
+    private volatile boolean incident;
+    private UserRepository repository;
+
+    @Setup
+    public void setUp() {
+        var user = UserResponse.builder().firstName("Daniel").build();
+        var latency = Duration.ofMillis(incidentMs);
+        UserRepository backend = request -> incident
+                ? Mono.delay(latency).then(Mono.error(new IllegalStateException("Backend caido")))
+                : Mono.just(user);
+        var properties = new UserRepositoryProperties().getResilience();
+        properties.setRefreshAfter(Duration.ofMillis(100));
+        repository = resilience
+                ? new StaleWhileRevalidateDecorator(backend,
+                CircuitBreaker.of(UserRepositoryConfig.CIRCUIT_BREAKER,
+                        UserRepositoryConfig.circuitBreakerConfig(properties)),
+                properties.getTimeout(), properties.getRefreshAfter(), properties.getMaxStale(),
+                properties.getMaximumSize())
+                : backend;
+        for (int i = 0; i < knownUsers; i++) {
+            repository.findByUser(request(i)).block();
+        }
+        incident = true;
+    }
+
+    private static UserRequest request(int i) {
+        return new UserRequest("C", String.valueOf(10_000 + i));
+    }
+
+    @Benchmark
+    public Object findUserDuringIncident() {
+        // 9 de cada 10 consultas son de documentos conocidos antes del incidente
+        var random = ThreadLocalRandom.current();
+        var index = random.nextInt(10) == 0 ? knownUsers + random.nextInt(1_000_000) : random.nextInt(knownUsers);
+        return repository.findByUser(request(index))
+                .onErrorResume(error -> Mono.empty())
+                .block();
+    }
+}
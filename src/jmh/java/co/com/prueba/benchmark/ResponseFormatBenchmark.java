@@ -0,0 +1,75 @@
+package co.com.prueba.benchmark;
+
+import co.com.prueba.entrypoints.codec.ProtobufResponseEncoder;
+import co.com.prueba.model.user.CustomExceptionE;
+import co.com.prueba.model.user.UserResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de codificar {@link UserResponse} y {@link CustomExceptionE} en cada formato que se puede pedir
+ * con Accept. El tamano de cada cuerpo esta en docs/rendimiento.md; el de Protobuf lo fija
+ * {@code ProtobufResponseEncoderTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private UserResponse userResponse;
+    private CustomExceptionE error;
+
+    @Setup
+    public void setUp() {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        userResponse = UserResponse.builder()
+                .firstName("Daniel")
+                .secondName("Ricardo")
+                .firstLastName("Buritica")
+                .secondLastName("Junco")
+                .phone("3217570485")
+                .address("Calle falsa 123")
+                .residenceCity("Bogota")
+                .build();
+        error = new CustomExceptionE("No existe el usuario.", "NOT_FOUND");
+    }
+
+    @Benchmark
+    public byte[] encodeUser() throws JsonProcessingException {
+        return encode(userResponse);
+    }
+
+    @Benchmark
+    public byte[] encodeError() throws JsonProcessingException {
+        return encode(error);
+    }
+
+    private byte[] encode(Object value) throws JsonProcessingException {
+        return "protobuf".equals(format) ? ProtobufResponseEncoder.encode(value) : objectMapper.writeValueAsBytes(value);
+    }
+}
@@ -0,0 +1,83 @@
+package co.com.prueba.benchmark;
+
+import co.com.prueba.adapter.shard.ShardRouter;
+import co.com.prueba.config.UserRepositoryProperties;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Banco local de shards: cada shard simulado responde un lote en 1 ms mas 10 us por documento. Compara un
+ * lote de {@code batchSize} documentos contra un solo shard con el mismo lote repartido por {@link ShardRouter}
+ * entre {@code shards} shards, con la configuracion por defecto de adapter.user.shard.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ShardingBenchmark {
+
+    @Param({"1", "4"})
+    private int shards;
+
+    @Param("1000")
+    private int batchSize;
+
+    private UserRepository repository;
+    private List<UserRequest> requests;
+
+    @Setup
+    public void setUp() {
+        var user = UserResponse.builder().firstName("Daniel").build();
+        var map = new LinkedHashMap<String, UserRepository>();
+        for (int i = 0; i < shards; i++) {
+            map.put("shard-" + i, new UserRepository() {
+                @Override
+                public Mono<UserResponse> findByUser(UserRequest request) {
+                    return Mono.just(user);
+                }
+
+                @Override
+                public Flux<UserLookupResult> findByUsers(Flux<UserRequest> lookups) {
+                    return lookups.collectList().flatMapMany(batch -> Flux.fromIterable(batch)
+                            .map(request -> UserLookupResult.found(request, user))
+                            .delaySubscription(Duration.ofNanos(1_000_000L + 10_000L * batch.size())));
+                }
+            });
+        }
+        var properties = new UserRepositoryProperties().getShard();
+        repository = shards == 1 ? map.get("shard-0")
+                : new ShardRouter(map, properties.getVirtualNodes(), properties.getChunkSize());
+        requests = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            requests.add(new UserRequest("C", String.valueOf(10_000_000 + i)));
+        }
+    }
+
+    @Benchmark
+    public List<UserLookupResult> findUsers() {
+        return repository.findByUsers(Flux.fromIterable(requests)).collectList().block();
+    }
+}
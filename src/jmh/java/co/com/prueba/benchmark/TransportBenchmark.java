@@ -0,0 +1,112 @@
+package co.com.prueba.benchmark;
+
+import co.com.prueba.Application;
+import co.com.prueba.entrypoints.rsocket.UserRSocketController;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Prueba de carga en el mismo proceso: arranca la aplicacion con el adaptador en memoria y compara
+ * GET /api/v1/user con request-response RSocket, y POST /api/v1/users:batch con request-channel. Ambos
+ * transportes usan JSON y una sola conexion reutilizada; con {@code -t} se sube la concurrencia y el modo
+ * SampleTime reporta p99.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class TransportBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String FOUND_URI = "/api/v1/user?documentType=C&documentNumber=23445322";
+
+    private ConfigurableApplicationContext context;
+    private WebClient webClient;
+    private RSocketRequester requester;
+    private UserRequest found;
+    private List<UserRequest> batch;
+    private String ndjsonBatch;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .properties("server.port=0", "spring.rsocket.server.port=0", "adapter.user.type=in-memory",
+                        "entrypoints.user.concurrency-limit.enabled=false", "adapter.user.metrics.enabled=false")
+                .run();
+        var environment = context.getEnvironment();
+        webClient = WebClient.create("http://localhost:" + environment.getProperty("local.server.port"));
+        requester = context.getBean(RSocketRequester.Builder.class)
+                .dataMimeType(MediaType.APPLICATION_JSON)
+                .tcp("localhost", environment.getProperty("local.rsocket.server.port", Integer.class));
+        found = new UserRequest("C", "23445322");
+        batch = IntStream.range(0, BATCH_SIZE)
+                .mapToObj(i -> i % 2 == 0 ? found : new UserRequest("C", String.valueOf(10_000_000 + i)))
+                .toList();
+        ndjsonBatch = batch.stream()
+                .map(request -> "{\"documentType\":\"" + request.getDocumentType()
+                        + "\",\"documentNumber\":\"" + request.getDocumentNumber() + "\"}\n")
+                .reduce("", String::concat);
+    }
+
+    @TearDown
+    public void tearDown() {
+        requester.dispose();
+        context.close();
+    }
+
+    @Benchmark
+    public UserResponse httpFindUser() {
+        return webClient.get().uri(FOUND_URI).retrieve().bodyToMono(UserResponse.class).block();
+    }
+
+    @Benchmark
+    public UserResponse rsocketFindUser() {
+        return requester.route(UserRSocketController.FIND_USER).data(found)
+                .retrieveMono(UserResponse.class).block();
+    }
+
+    @Benchmark
+    public Long httpBatch() {
+        return webClient.post().uri("/api/v1/users:batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(ndjsonBatch)
+                .retrieve()
+                .bodyToFlux(UserLookupResult.class)
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    public Long rsocketChannel() {
+        return requester.route(UserRSocketController.FIND_USERS).data(Flux.fromIterable(batch))
+                .retrieveFlux(UserLookupResult.class)
+                .count()
+                .block();
+    }
+}
@@ -0,0 +1,64 @@
+package co.com.prueba.benchmark;
+
+import co.com.prueba.adapter.memory.InMemoryUserAdapter;
+import co.com.prueba.entrypoints.handler.EncodedResponseCache;
+import co.com.prueba.entrypoints.handler.UserHandler;
+import co.com.prueba.entrypoints.router.UserRouter;
+import co.com.prueba.usecase.UserUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flujo completo de GET /api/v1/user sin red: enrutamiento, {@link UserHandler#findByUsername},
+ * caso de uso, adaptador en memoria y escritura del cuerpo JSON, serializando con Jackson en cada
+ * solicitud o con los bytes precodificados de {@link EncodedResponseCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserHandlerBenchmark {
+
+    private static final String FOUND_URI = "/api/v1/user?documentType=C&documentNumber=23445322";
+
+    @Param({"false", "true"})
+    private boolean preEncoded;
+
+    private HttpHandler httpHandler;
+
+    @Setup
+    public void setUp() throws IOException {
+        var encodedResponses = new EncodedResponseCache(Jackson2ObjectMapperBuilder.json().build(), preEncoded, 1024);
+        var handler = new UserHandler(new UserUseCase(new InMemoryUserAdapter(new ClassPathResource("users.csv"), 16)),
+                encodedResponses, new SimpleMeterRegistry());
+        httpHandler = RouterFunctions.toHttpHandler(new UserRouter().routerFunctionUser(handler));
+    }
+
+    @Benchmark
+    public MockServerHttpResponse findByUsername() {
+        var response = new MockServerHttpResponse();
+        httpHandler.handle(MockServerHttpRequest.get(FOUND_URI).build(), response).block();
+        return response;
+    }
+}
@@ -1,11 +1,16 @@
 package co.com.prueba;
 
+import co.com.prueba.config.ComponentScanConfig;
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.Import;
 
-@SpringBootApplication
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@Import(ComponentScanConfig.class)
 public class Application {
     public static void main(String args[]) {
         SpringApplication.run(Application.class, args);
     }
-}
\ No newline at end of file
+}
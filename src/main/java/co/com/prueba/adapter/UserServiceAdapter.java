@@ -1,15 +1,20 @@
 package co.com.prueba.adapter;
 
-import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.UserKey;
 import co.com.prueba.model.user.UserRequest;
 import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserKeySource;
 import co.com.prueba.model.user.gateway.UserRepository;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.http.HttpStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.function.LongConsumer;
+
 @Log4j2
-public class UserServiceAdapter implements UserRepository {
+@ConditionalOnProperty(name = "adapter.user.type", havingValue = "stub", matchIfMissing = true)
+public class UserServiceAdapter implements UserRepository, UserKeySource {
 
     public static final String USER = "23445322";
     public static final String CEDULA_CIUDADANIA = "C";
@@ -22,11 +27,26 @@ public class UserServiceAdapter implements UserRepository {
                 .filter(this::validateIfUserExists)
                 .flatMap(t -> Mono.just(getUserResponse()))
                 .doOnNext(userResponse -> log.info(SEARCH_SUCCESSFUL))
-                .switchIfEmpty(Mono.error(new CustomException(HttpStatus.NOT_FOUND, USER_NOT_FOUND)))
+                .switchIfEmpty(Mono.error(USER_NOT_FOUND_ERROR))
                 .doOnError(throwable -> log.error(USER_NOT_FOUND));
 
     }
 
+    @Override
+    public Mono<Long> userCount() {
+        return Mono.just(1L);
+    }
+
+    @Override
+    public Flux<Long> userKeys() {
+        return Flux.just(UserKey.encode(CEDULA_CIUDADANIA, USER));
+    }
+
+    @Override
+    public void addUserKeyListener(LongConsumer listener) {
+        // El stub tiene un unico usuario fijo
+    }
+
     private boolean validateIfUserExists(UserRequest request) {
         return request.getDocumentNumber().equals(USER) && request.getDocumentType().equals(CEDULA_CIUDADANIA);
     }
@@ -0,0 +1,168 @@
+package co.com.prueba.adapter.batch;
+
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.LookupStatus;
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrupa las consultas individuales que llegan dentro de una ventana y las resuelve con una sola llamada a
+ * {@link UserRepository#findByUsers} del repositorio envuelto. Un lote sale cuando junta {@code maxSize}
+ * consultas o cuando vence {@code window} desde la primera, asi que la latencia agregada esta acotada por la
+ * ventana. Los documentos repetidos dentro de un lote se consultan una vez; los que no se pueden codificar
+ * como {@link UserKey} van directo al repositorio.
+ */
+public class MicroBatchingDecorator implements UserRepository {
+
+    public static final String METRIC_PREFIX = "user.batch";
+
+    private final UserRepository delegate;
+    private final int maxSize;
+    private final Duration window;
+    private final Scheduler scheduler;
+    private final Object lock = new Object();
+
+    private List<Pending> pending;
+    private Disposable timer;
+    private Counter lookups;
+    private DistributionSummary batchSize;
+
+    public MicroBatchingDecorator(UserRepository delegate, int maxSize, Duration window) {
+        this(delegate, maxSize, window, Schedulers.parallel());
+    }
+
+    MicroBatchingDecorator(UserRepository delegate, int maxSize, Duration window, Scheduler scheduler) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("El tamano maximo del lote debe ser positivo: " + maxSize);
+        }
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.window = window;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<UserResponse> findByUser(UserRequest request) {
+        var key = UserKey.encode(request);
+        if (key == UserKey.INVALID) {
+            return delegate.findByUser(request);
+        }
+        return Mono.create(sink -> enqueue(new Pending(key, request, sink)));
+    }
+
+    @Override
+    public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+        return delegate.findByUsers(requests);
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        lookups = Counter.builder(METRIC_PREFIX + ".lookups")
+                .description("Consultas individuales que entraron a un lote")
+                .register(registry);
+        batchSize = DistributionSummary.builder(METRIC_PREFIX + ".size")
+                .description("Documentos distintos enviados al repositorio por lote")
+                .register(registry);
+    }
+
+    private void enqueue(Pending request) {
+        List<Pending> ready = null;
+        synchronized (lock) {
+            if (pending == null) {
+                pending = new ArrayList<>(maxSize);
+                timer = scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            pending.add(request);
+            if (pending.size() >= maxSize) {
+                ready = take();
+            }
+        }
+        if (lookups != null) {
+            lookups.increment();
+        }
+        if (ready != null) {
+            dispatch(ready);
+        }
+    }
+
+    private void flush() {
+        List<Pending> ready;
+        synchronized (lock) {
+            ready = take();
+        }
+        if (ready != null) {
+            dispatch(ready);
+        }
+    }
+
+    private List<Pending> take() {
+        var ready = pending;
+        pending = null;
+        if (timer != null) {
+            timer.dispose();
+            timer = null;
+        }
+        return ready;
+    }
+
+    private void dispatch(List<Pending> batch) {
+        var requests = new LinkedHashMap<Long, UserRequest>();
+        for (Pending request : batch) {
+            if (!request.cancelled) {
+                requests.putIfAbsent(request.key, request.request);
+            }
+        }
+        if (requests.isEmpty()) {
+            return;
+        }
+        if (batchSize != null) {
+            batchSize.record(requests.size());
+        }
+        delegate.findByUsers(Flux.fromIterable(requests.values()))
+                .collectMap(result -> UserKey.encode(result.getDocumentType(), result.getDocumentNumber()))
+                .subscribe(results -> batch.forEach(request -> complete(request.sink, results.get(request.key))),
+                        error -> batch.forEach(request -> request.sink.error(error)));
+    }
+
+    private static void complete(MonoSink<UserResponse> sink, UserLookupResult result) {
+        if (result == null || result.getStatus() == LookupStatus.NOT_FOUND) {
+            sink.error(USER_NOT_FOUND_ERROR);
+        } else if (result.getStatus() == LookupStatus.BAD_REQUEST) {
+            sink.error(new CustomException(HttpStatus.BAD_REQUEST, result.getMessage()));
+        } else {
+            sink.success(result.getUser());
+        }
+    }
+
+    private static final class Pending {
+        private final long key;
+        private final UserRequest request;
+        private final MonoSink<UserResponse> sink;
+        private volatile boolean cancelled;
+
+        private Pending(long key, UserRequest request, MonoSink<UserResponse> sink) {
+            this.key = key;
+            this.request = request;
+            this.sink = sink;
+            sink.onCancel(() -> cancelled = true);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package co.com.prueba.adapter.blocking;
+
+import co.com.prueba.config.UserRepositoryProperties;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.BlockingUserRepository;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Ejecuta un {@link BlockingUserRepository} fuera del event loop. Con el scheduler {@code virtual} cada
+ * consulta corre en su propio hilo virtual, asi que el limite lo pone {@code max-concurrency} (un
+ * {@link Semaphore} justo que espera sin ocupar un hilo portador) y no el tamano de un pool; con
+ * {@code bounded-elastic} se usa el pool acotado de Reactor.
+ */
+@Log4j2
+@ConditionalOnProperty(name = "adapter.user.type", havingValue = "blocking")
+public class BlockingUserRepositoryAdapter implements UserRepository, Closeable {
+
+    public static final String SCHEDULER_NAME = "user-blocking";
+    public static final String IN_FLIGHT_GAUGE = "user.blocking.in.flight";
+    public static final String SCHEDULER_READY = "Adaptador bloqueante con scheduler {} y hasta {} consultas en curso";
+
+    private final BlockingUserRepository delegate;
+    private final Scheduler scheduler;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final PinnedThreadMonitor pinnedThreadMonitor;
+
+    public BlockingUserRepositoryAdapter(BlockingUserRepository delegate, UserRepositoryProperties properties,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        var blocking = properties.getBlocking();
+        var registry = meterRegistry.getIfAvailable();
+        this.delegate = delegate;
+        this.maxConcurrency = blocking.getMaxConcurrency();
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.scheduler = scheduler(blocking.getScheduler());
+        this.pinnedThreadMonitor = blocking.getScheduler() == UserRepositoryProperties.SchedulerType.VIRTUAL
+                && blocking.isPinningDetection()
+                ? new PinnedThreadMonitor(blocking.getPinningThreshold(), registry)
+                : null;
+        if (registry != null) {
+            Gauge.builder(IN_FLIGHT_GAUGE, this, BlockingUserRepositoryAdapter::inFlight)
+                    .description("Consultas bloqueantes en curso")
+                    .register(registry);
+        }
+        log.info(SCHEDULER_READY, blocking.getScheduler(), maxConcurrency);
+    }
+
+    @Override
+    public Mono<UserResponse> findByUser(UserRequest request) {
+        return Mono.fromCallable(() -> {
+                    permits.acquire();
+                    try {
+                        return delegate.findByUser(request);
+                    } finally {
+                        permits.release();
+                    }
+                })
+                .subscribeOn(scheduler)
+                .switchIfEmpty(Mono.error(USER_NOT_FOUND_ERROR));
+    }
+
+    public int inFlight() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public PinnedThreadMonitor getPinnedThreadMonitor() {
+        return pinnedThreadMonitor;
+    }
+
+    static Scheduler scheduler(UserRepositoryProperties.SchedulerType type) {
+        return switch (type) {
+            case VIRTUAL -> Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(SCHEDULER_NAME + "-", 0).factory()),
+                    SCHEDULER_NAME);
+            case BOUNDED_ELASTIC -> Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                    Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, SCHEDULER_NAME);
+        };
+    }
+
+    @Override
+    public void close() {
+        scheduler.dispose();
+        if (pinnedThreadMonitor != null) {
+            pinnedThreadMonitor.close();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package co.com.prueba.adapter.blocking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Detecta hilos virtuales fijados a su portador (un bloqueo dentro de {@code synchronized} o de codigo
+ * nativo) con el evento JFR {@code jdk.VirtualThreadPinned}. Cada evento por encima del umbral incrementa
+ * {@link #PINNED_COUNTER} y se registra con las primeras lineas de su stack trace.
+ */
+@Log4j2
+public class PinnedThreadMonitor implements Closeable {
+
+    public static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    public static final String PINNED_COUNTER = "user.blocking.pinned";
+    public static final String PINNED_MESSAGE = "Hilo virtual fijado a su portador durante {} ms en {}";
+    private static final int STACK_FRAMES = 5;
+
+    private final RecordingStream stream;
+    private final AtomicLong pinned = new AtomicLong();
+    private final Counter counter;
+
+    public PinnedThreadMonitor(Duration threshold, MeterRegistry registry) {
+        this.counter = registry == null ? null : Counter.builder(PINNED_COUNTER)
+                .description("Bloqueos de hilos virtuales que fijaron al hilo portador")
+                .register(registry);
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    public long getPinnedCount() {
+        return pinned.get();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.incrementAndGet();
+        if (counter != null) {
+            counter.increment();
+        }
+        log.warn(PINNED_MESSAGE, event.getDuration().toMillis(), topFrames(event));
+    }
+
+    private static String topFrames(RecordedEvent event) {
+        var stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return "(sin stack trace)";
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .limit(STACK_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" <- "));
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
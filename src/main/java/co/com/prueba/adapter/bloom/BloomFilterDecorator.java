@@ -0,0 +1,169 @@
+package co.com.prueba.adapter.bloom;
+
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserKeySource;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Responde sin consultar al repositorio los documentos que el filtro de Bloom descarta, con el mismo
+ * {@link UserRepository#USER_NOT_FOUND_ERROR} del adaptador. El filtro se dimensiona con el conteo de
+ * {@link UserKeySource}, recibe cada usuario agregado por el listener y, si se configura un intervalo,
+ * se reconstruye completo para seguir escrituras externas y crecimiento. Mientras no exista un filtro
+ * todas las consultas pasan al repositorio.
+ */
+@Log4j2
+public class BloomFilterDecorator implements UserRepository {
+
+    public static final String METRIC_PREFIX = "user.bloom";
+    public static final String FILTER_BUILT = "Filtro de Bloom de usuarios con {} llaves, {} bytes, {} funciones hash";
+    public static final String FILTER_BUILD_FAILED = "No fue posible construir el filtro de Bloom de usuarios: {}";
+
+    private final UserRepository delegate;
+    private final UserKeySource source;
+    private final double falsePositiveRate;
+    private final double sizeFactor;
+    private final long minimumSize;
+    private volatile UserKeyBloomFilter current;
+    private volatile UserKeyBloomFilter building;
+    private Counter negatives;
+    private Counter falsePositives;
+    private Disposable rebuilds;
+
+    public BloomFilterDecorator(UserRepository delegate, UserKeySource source, double falsePositiveRate,
+                                double sizeFactor, long minimumSize) {
+        this.delegate = delegate;
+        this.source = source;
+        this.falsePositiveRate = falsePositiveRate;
+        this.sizeFactor = sizeFactor;
+        this.minimumSize = minimumSize;
+        source.addUserKeyListener(this::added);
+    }
+
+    @Override
+    public Mono<UserResponse> findByUser(UserRequest request) {
+        var filter = current;
+        if (filter == null) {
+            return delegate.findByUser(request);
+        }
+        if (!filter.mightContain(UserKey.encode(request))) {
+            increment(negatives);
+            return Mono.error(USER_NOT_FOUND_ERROR);
+        }
+        return delegate.findByUser(request)
+                .doOnError(error -> error == USER_NOT_FOUND_ERROR, error -> increment(falsePositives));
+    }
+
+    @Override
+    public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+        return requests
+                .windowUntilChanged(this::mightExist)
+                .concatMap(window -> window.switchOnFirst((first, group) -> first.hasValue() && mightExist(first.get())
+                        ? delegate.findByUsers(group)
+                        : group.map(request -> {
+                            increment(negatives);
+                            return UserLookupResult.notFound(request, USER_NOT_FOUND);
+                        })));
+    }
+
+    /**
+     * Construye un filtro nuevo con el contenido actual de la fuente y lo publica al terminar.
+     * Las llaves agregadas durante la construccion van a ambos filtros.
+     */
+    public Mono<UserKeyBloomFilter> rebuild() {
+        return source.userCount()
+                .map(count -> new UserKeyBloomFilter(Math.max((long) (count * sizeFactor), minimumSize), falsePositiveRate))
+                .flatMap(filter -> {
+                    building = filter;
+                    return source.userKeys()
+                            .doOnNext(filter::put)
+                            .then(Mono.fromCallable(() -> {
+                                current = filter;
+                                building = null;
+                                log.info(FILTER_BUILT, filter.insertions(), filter.memoryBytes(), filter.hashFunctions());
+                                return filter;
+                            }));
+                })
+                .doOnError(error -> {
+                    building = null;
+                    log.warn(FILTER_BUILD_FAILED, error.getMessage());
+                });
+    }
+
+    /**
+     * Primera construccion en segundo plano y, con {@code interval} positivo, reconstrucciones periodicas.
+     */
+    public void start(Duration interval) {
+        var initial = rebuild().onErrorResume(error -> Mono.empty());
+        rebuilds = interval.isZero() || interval.isNegative()
+                ? initial.subscribe()
+                : initial.thenMany(Flux.interval(interval).concatMap(tick -> rebuild().onErrorResume(error -> Mono.empty())))
+                .subscribe();
+    }
+
+    public void stop() {
+        if (rebuilds != null) {
+            rebuilds.dispose();
+        }
+    }
+
+    public boolean isRunning() {
+        return rebuilds != null && !rebuilds.isDisposed();
+    }
+
+    public UserKeyBloomFilter filter() {
+        return current;
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        negatives = Counter.builder(METRIC_PREFIX + ".negatives")
+                .description("Consultas descartadas por el filtro sin llegar al repositorio")
+                .register(registry);
+        falsePositives = Counter.builder(METRIC_PREFIX + ".false.positives")
+                .description("Consultas que pasaron el filtro y el repositorio no encontro")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".expected.false.positive.rate", this,
+                        decorator -> decorator.current == null ? Double.NaN : decorator.current.expectedFalsePositiveRate())
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".memory", this,
+                        decorator -> decorator.current == null ? 0 : decorator.current.memoryBytes())
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".keys", this,
+                        decorator -> decorator.current == null ? 0 : decorator.current.insertions())
+                .register(registry);
+    }
+
+    private boolean mightExist(UserRequest request) {
+        var filter = current;
+        return filter == null || filter.mightContain(UserKey.encode(request));
+    }
+
+    private void added(long key) {
+        var next = building;
+        if (next != null) {
+            next.put(key);
+        }
+        var filter = current;
+        if (filter != null && filter != next) {
+            filter.put(key);
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package co.com.prueba.adapter.bloom;
+
+import co.com.prueba.model.user.UserKey;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro de Bloom sobre llaves {@code long}: {@link #mightContain} en falso garantiza que la llave
+ * nunca se agrego. Los bits se guardan en un {@code long[]} y se activan con un OR atomico, asi que
+ * se puede agregar y consultar desde varios hilos sin bloqueo. Las k posiciones salen de doble hashing
+ * sobre el fmix64 de la llave.
+ */
+public class UserKeyBloomFilter {
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int MAX_HASH_FUNCTIONS = 16;
+
+    private final long[] words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLong bitCount = new AtomicLong();
+    private final AtomicLong insertions = new AtomicLong();
+
+    public UserKeyBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Tasa de falsos positivos invalida: " + falsePositiveRate);
+        }
+        long expected = Math.max(expectedInsertions, 1);
+        long bits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long wordCount = Math.max((bits + 63) >>> 6, 1);
+        if (wordCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Filtro demasiado grande para " + expectedInsertions + " llaves");
+        }
+        this.words = new long[(int) wordCount];
+        this.bitSize = wordCount << 6;
+        this.hashFunctions = (int) Math.min(Math.max(Math.round((double) bitSize / expected * Math.log(2)), 1),
+                MAX_HASH_FUNCTIONS);
+    }
+
+    public void put(long key) {
+        if (key == UserKey.INVALID) {
+            return;
+        }
+        long hash = fmix64(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitSize;
+            long mask = 1L << bit;
+            long previous = (long) WORDS.getAndBitwiseOr(words, (int) (bit >>> 6), mask);
+            if ((previous & mask) == 0) {
+                bitCount.incrementAndGet();
+            }
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(long key) {
+        if (key == UserKey.INVALID) {
+            return false;
+        }
+        long hash = fmix64(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitSize;
+            if (((long) WORDS.getAcquire(words, (int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Probabilidad de falso positivo con los bits activos hoy: (bits activos / bits)^k.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitCount.get() / bitSize, hashFunctions);
+    }
+
+    public long insertions() {
+        return insertions.get();
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    public long memoryBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    private static long fmix64(long key) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,91 @@
+package co.com.prueba.adapter.cache;
+
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.VersionedUser;
+import co.com.prueba.model.user.gateway.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache de usuarios encontrados delante de otro {@link UserRepository}.
+ * Caffeine aplica W-TinyLFU con tamano maximo y TTL por entrada; las consultas concurrentes
+ * de un mismo documento que no esta en cache comparten una sola llamada al repositorio.
+ * Los errores (por ejemplo usuario no encontrado) no se guardan. Cada entrada guarda la version del
+ * usuario, calculada al cargarla, para responder ETags sin recalcularla ni consultar el repositorio.
+ */
+public class UserCacheDecorator implements UserRepository {
+
+    public static final String CACHE_NAME = "users";
+
+    private final UserRepository delegate;
+    private final Cache<Long, VersionedUser> cache;
+    private final ConcurrentHashMap<Long, Mono<VersionedUser>> inFlight = new ConcurrentHashMap<>();
+
+    public UserCacheDecorator(UserRepository delegate, long maximumSize, Duration ttl) {
+        this(delegate, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+
+    UserCacheDecorator(UserRepository delegate, Cache<Long, VersionedUser> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<UserResponse> findByUser(UserRequest request) {
+        var key = UserKey.encode(request);
+        if (key == UserKey.INVALID) {
+            return delegate.findByUser(request);
+        }
+        var versioned = cache.getIfPresent(key);
+        if (versioned != null) {
+            return Mono.just(versioned.user());
+        }
+        return inFlight.computeIfAbsent(key, k -> load(k, request)).map(VersionedUser::user);
+    }
+
+    @Override
+    public Mono<VersionedUser> findVersionedByUser(UserRequest request) {
+        var key = UserKey.encode(request);
+        if (key == UserKey.INVALID) {
+            return delegate.findVersionedByUser(request);
+        }
+        var versioned = cache.getIfPresent(key);
+        if (versioned != null) {
+            return Mono.just(versioned);
+        }
+        return inFlight.computeIfAbsent(key, k -> load(k, request));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private Mono<VersionedUser> load(Long key, UserRequest request) {
+        return Mono.defer(() -> delegate.findByUser(request))
+                .map(VersionedUser::of)
+                .doOnNext(versioned -> cache.put(key, versioned))
+                .doFinally(signal -> inFlight.remove(key))
+                .cache();
+    }
+}
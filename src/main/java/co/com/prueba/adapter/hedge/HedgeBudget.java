@@ -0,0 +1,45 @@
+package co.com.prueba.adapter.hedge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limita las solicitudes de cobertura a una fraccion de las consultas: cada consulta deposita {@code ratio}
+ * fichas, hasta {@code maxTokens}, y cada cobertura gasta una. Con ratio 0.1 a lo sumo una de cada diez
+ * consultas se duplica, aunque el backend entero este lento.
+ */
+public class HedgeBudget {
+
+    private static final long SCALE = 1_000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance = new AtomicLong();
+
+    public HedgeBudget(double ratio, int maxTokens) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("La proporcion de coberturas debe estar en [0, 1]: " + ratio);
+        }
+        this.deposit = Math.round(ratio * SCALE);
+        this.capacity = Math.max(maxTokens, 1) * SCALE;
+    }
+
+    public void onRequest() {
+        balance.getAndUpdate(current -> Math.min(current + deposit, capacity));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    public double tokens() {
+        return (double) balance.get() / SCALE;
+    }
+}
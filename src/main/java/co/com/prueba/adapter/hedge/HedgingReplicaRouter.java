@@ -0,0 +1,171 @@
+package co.com.prueba.adapter.hedge;
+
+import co.com.prueba.adapter.resilience.StaleWhileRevalidateDecorator;
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Reparte las consultas entre varias replicas del repositorio y, si la primera no responde antes del
+ * percentil de latencia observado, envia la misma consulta a la siguiente replica (hedged request). Gana la
+ * primera respuesta definitiva (usuario, vacio o error de negocio como 404) y la otra llamada se cancela; si la
+ * replica falla (5xx, timeout, conexion) la cobertura sale de inmediato y, si ambas fallan, se propaga el error
+ * de la primera. Las coberturas salen solo si hay fichas en el {@link HedgeBudget}, asi que un backend lento en
+ * su totalidad no recibe el doble de carga. Con una sola replica la cobertura vuelve a la misma.
+ */
+public class HedgingReplicaRouter implements UserRepository {
+
+    public static final String METRIC_PREFIX = "user.hedge";
+
+    private static final CustomException HEDGE_THROTTLED =
+            CustomException.shared(HttpStatus.SERVICE_UNAVAILABLE, "Cobertura descartada por falta de presupuesto");
+
+    private final List<UserRepository> replicas;
+    private final LatencyPercentile latency;
+    private final HedgeBudget budget;
+    private final long minDelayNanos;
+    private final Scheduler scheduler;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private Counter hedges;
+    private Counter hedgeWins;
+    private Counter throttled;
+
+    public HedgingReplicaRouter(List<UserRepository> replicas, LatencyPercentile latency, HedgeBudget budget,
+                                 Duration minDelay) {
+        this(replicas, latency, budget, minDelay, Schedulers.parallel(), System::nanoTime);
+    }
+
+    HedgingReplicaRouter(List<UserRepository> replicas, LatencyPercentile latency, HedgeBudget budget,
+                          Duration minDelay, Scheduler scheduler, LongSupplier nanoClock) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos una replica");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.latency = latency;
+        this.budget = budget;
+        this.minDelayNanos = minDelay.toNanos();
+        this.scheduler = scheduler;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<UserResponse> findByUser(UserRequest request) {
+        return Mono.defer(() -> {
+            budget.onRequest();
+            int primary = Math.floorMod(next.getAndIncrement(), replicas.size());
+            var primaryError = new AtomicReference<Throwable>();
+            var primaryFailed = Sinks.empty();
+            var first = outcome(timed(replicas.get(primary), request))
+                    .doOnError(error -> {
+                        primaryError.set(error);
+                        primaryFailed.tryEmitEmpty();
+                    });
+            var hedge = Mono.firstWithSignal(Mono.delay(Duration.ofNanos(delayNanos()), scheduler).then(),
+                            primaryFailed.asMono())
+                    .then(Mono.defer(() -> {
+                        if (!budget.tryAcquire()) {
+                            increment(throttled);
+                            return Mono.<Signal<UserResponse>>error(HEDGE_THROTTLED);
+                        }
+                        increment(hedges);
+                        return outcome(timed(replicas.get((primary + 1) % replicas.size()), request))
+                                .doOnNext(signal -> increment(hedgeWins));
+                    }));
+            return Mono.firstWithValue(first, hedge)
+                    .onErrorMap(NoSuchElementException.class,
+                            error -> primaryError.get() != null ? primaryError.get() : error)
+                    .<UserResponse>dematerialize();
+        });
+    }
+
+    /**
+     * Los lotes no se duplican: cada uno va a una sola replica.
+     */
+    @Override
+    public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+        return Flux.defer(() -> replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()))
+                .findByUsers(requests));
+    }
+
+    public long delayNanos() {
+        return Math.max(latency.currentNanos(), minDelayNanos);
+    }
+
+    public List<UserRepository> replicas() {
+        return replicas;
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        hedges = Counter.builder(METRIC_PREFIX + ".requests")
+                .description("Consultas de cobertura enviadas a otra replica")
+                .register(registry);
+        hedgeWins = Counter.builder(METRIC_PREFIX + ".wins")
+                .description("Consultas de cobertura que respondieron antes que la original")
+                .register(registry);
+        throttled = Counter.builder(METRIC_PREFIX + ".throttled")
+                .description("Coberturas descartadas por falta de presupuesto")
+                .register(registry);
+        TimeGauge.builder(METRIC_PREFIX + ".delay", this, TimeUnit.NANOSECONDS, HedgingReplicaRouter::delayNanos)
+                .description("Espera antes de enviar la cobertura")
+                .register(registry);
+    }
+
+    /**
+     * Registra la latencia una sola vez por llamada: al responder, al terminar vacia, al fallar o, si se
+     * cancela porque gano la otra replica, con el tiempo transcurrido como cota inferior.
+     */
+    private Mono<UserResponse> timed(UserRepository replica, UserRequest request) {
+        return Mono.defer(() -> {
+            long start = nanoClock.getAsLong();
+            var recorded = new AtomicBoolean();
+            Runnable record = () -> {
+                if (recorded.compareAndSet(false, true)) {
+                    latency.record(nanoClock.getAsLong() - start);
+                }
+            };
+            return replica.findByUser(request)
+                    .doOnEach(signal -> record.run())
+                    .doOnCancel(record);
+        });
+    }
+
+    /**
+     * Convierte las respuestas definitivas en valor para que {@link Mono#firstWithValue} solo descarte las
+     * fallas de la replica.
+     */
+    private static Mono<Signal<UserResponse>> outcome(Mono<UserResponse> call) {
+        return call.materialize()
+                .flatMap(signal -> signal.isOnError() && StaleWhileRevalidateDecorator.isFailure(signal.getThrowable())
+                        ? Mono.error(signal.getThrowable())
+                        : Mono.just(signal));
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package co.com.prueba.adapter.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Percentil de latencia sobre las ultimas {@code windowSize} muestras. Registrar no bloquea: cada muestra
+ * ocupa la siguiente posicion de un anillo; el percentil se recalcula (copiando y ordenando el anillo) cada
+ * {@code windowSize / 8} muestras y entre recalculos se lee el ultimo valor. Hasta juntar
+ * {@code minSamples} muestras devuelve el valor inicial.
+ */
+public class LatencyPercentile {
+
+    private final double percentile;
+    private final int minSamples;
+    private final int recomputeEvery;
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile long currentNanos;
+
+    public LatencyPercentile(double percentile, int windowSize, int minSamples, long initialNanos) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("El percentil debe estar en (0, 1]: " + percentile);
+        }
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("La ventana debe ser positiva: " + windowSize);
+        }
+        this.percentile = percentile;
+        this.minSamples = Math.min(Math.max(minSamples, 1), windowSize);
+        this.recomputeEvery = Math.max(windowSize / 8, 1);
+        this.samples = new AtomicLongArray(windowSize);
+        this.currentNanos = initialNanos;
+    }
+
+    public void record(long nanos) {
+        long count = recorded.getAndIncrement();
+        samples.set((int) (count % samples.length()), nanos);
+        long total = count + 1;
+        if (total >= minSamples && (total == minSamples || total % recomputeEvery == 0)) {
+            currentNanos = compute((int) Math.min(total, samples.length()));
+        }
+    }
+
+    public long currentNanos() {
+        return currentNanos;
+    }
+
+    public long count() {
+        return recorded.get();
+    }
+
+    private long compute(int size) {
+        var copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(percentile * size) - 1;
+        return copy[Math.max(index, 0)];
+    }
+}
@@ -0,0 +1,89 @@
+package co.com.prueba.adapter.memory;
+
+import co.com.prueba.adapter.seed.UserSeedReader;
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserKeySource;
+import co.com.prueba.model.user.gateway.UserRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+
+@Log4j2
+@ConditionalOnProperty(name = "adapter.user.type", havingValue = "in-memory")
+public class InMemoryUserAdapter implements UserRepository, UserKeySource {
+
+    public static final String USER_NOT_FOUND = "No existe el usuario.";
+    public static final String USERS_LOADED = "Usuarios cargados en memoria: {} desde {}";
+
+    private final LongUserIndex index;
+    private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+
+    public InMemoryUserAdapter(@Value("${adapter.user.in-memory.source:classpath:users.csv}") Resource source,
+                               @Value("${adapter.user.in-memory.expected-size:1024}") int expectedSize)
+            throws IOException {
+        this.index = new LongUserIndex(expectedSize);
+        var loaded = UserSeedReader.read(source, this::put);
+        log.info(USERS_LOADED, loaded, source.getDescription());
+    }
+
+    @Override
+    public Mono<UserResponse> findByUser(UserRequest request) {
+        var userResponse = index.get(UserKey.encode(request));
+        if (userResponse == null) {
+            return Mono.error(USER_NOT_FOUND_ERROR);
+        }
+        return Mono.just(userResponse);
+    }
+
+    @Override
+    public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+        return requests.map(request -> {
+            var userResponse = index.get(UserKey.encode(request));
+            return userResponse == null
+                    ? UserLookupResult.notFound(request, USER_NOT_FOUND)
+                    : UserLookupResult.found(request, userResponse);
+        });
+    }
+
+    public void put(UserRequest request, UserResponse userResponse) {
+        var key = UserKey.encode(request);
+        if (key == UserKey.INVALID) {
+            throw new IllegalArgumentException("Documento no indexable: "
+                    + request.getDocumentType() + " " + request.getDocumentNumber());
+        }
+        if (index.put(key, userResponse)) {
+            listeners.forEach(listener -> listener.accept(key));
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public Mono<Long> userCount() {
+        return Mono.fromSupplier(() -> (long) index.size());
+    }
+
+    @Override
+    public Flux<Long> userKeys() {
+        return Flux.defer(() -> Flux.fromStream(Arrays.stream(index.keys()).boxed()));
+    }
+
+    @Override
+    public void addUserKeyListener(LongConsumer listener) {
+        listeners.add(listener);
+    }
+}
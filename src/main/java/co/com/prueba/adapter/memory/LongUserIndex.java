@@ -0,0 +1,134 @@
+package co.com.prueba.adapter.memory;
+
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserResponse;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Indice de direccionamiento abierto (sondeo lineal) de llaves {@code long}
+ * hacia {@link UserResponse}. Las lecturas no bloquean ni reservan memoria;
+ * las escrituras se serializan y publican la llave despues del valor.
+ */
+public class LongUserIndex {
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(UserResponse[].class);
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile Table table;
+    private int size;
+
+    public LongUserIndex(int expectedSize) {
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    public UserResponse get(long key) {
+        if (key == UserKey.INVALID) {
+            return null;
+        }
+        Table current = table;
+        int slot = slot(key, current.mask);
+        while (true) {
+            long candidate = (long) KEYS.getAcquire(current.keys, slot);
+            if (candidate == key) {
+                return (UserResponse) VALUES.getAcquire(current.values, slot);
+            }
+            if (candidate == UserKey.INVALID) {
+                return null;
+            }
+            slot = (slot + 1) & current.mask;
+        }
+    }
+
+    public synchronized boolean put(long key, UserResponse value) {
+        if (key == UserKey.INVALID) {
+            throw new IllegalArgumentException("Llave de usuario invalida");
+        }
+        if (size + 1 > table.threshold) {
+            table = rehash(table, table.keys.length << 1);
+        }
+        boolean added = insert(table, key, value);
+        if (added) {
+            size++;
+        }
+        return added;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long[] keys() {
+        long[] keys = new long[size];
+        int position = 0;
+        for (long key : table.keys) {
+            if (key != UserKey.INVALID) {
+                keys[position++] = key;
+            }
+        }
+        return keys;
+    }
+
+    private static boolean insert(Table target, long key, UserResponse value) {
+        int slot = slot(key, target.mask);
+        while (true) {
+            long candidate = target.keys[slot];
+            if (candidate == key) {
+                VALUES.setRelease(target.values, slot, value);
+                return false;
+            }
+            if (candidate == UserKey.INVALID) {
+                target.values[slot] = value;
+                KEYS.setRelease(target.keys, slot, key);
+                return true;
+            }
+            slot = (slot + 1) & target.mask;
+        }
+    }
+
+    private static Table rehash(Table source, int capacity) {
+        Table target = new Table(capacity);
+        for (int i = 0; i < source.keys.length; i++) {
+            if (source.keys[i] != UserKey.INVALID) {
+                insert(target, source.keys[i], source.values[i]);
+            }
+        }
+        return target;
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+        long capacity = Math.max(Long.highestOneBit(needed - 1) << 1, MIN_CAPACITY);
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("Tamano esperado demasiado grande: " + expectedSize);
+        }
+        return (int) capacity;
+    }
+
+    private static final class Table {
+        private final long[] keys;
+        private final UserResponse[] values;
+        private final int mask;
+        private final int threshold;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new UserResponse[capacity];
+            this.mask = capacity - 1;
+            this.threshold = (int) (capacity * LOAD_FACTOR);
+        }
+    }
+}
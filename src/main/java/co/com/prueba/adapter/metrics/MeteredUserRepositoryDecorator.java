@@ -0,0 +1,56 @@
+package co.com.prueba.adapter.metrics;
+
+import co.com.prueba.model.user.LookupStatus;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Mide las consultas que llegan al adaptador con la etapa {@value #STAGE} y el tag adapter. Las
+ * consultas por lote cuentan cada resultado en {@value #BATCH_RESULTS} por estado.
+ */
+public class MeteredUserRepositoryDecorator implements UserRepository {
+
+    public static final String STAGE = "repository";
+    public static final String BATCH_RESULTS = "user.lookup.batch.results";
+
+    private final UserRepository delegate;
+    private final StageMetrics metrics;
+    private final Map<LookupStatus, Counter> batchResults = new EnumMap<>(LookupStatus.class);
+
+    public MeteredUserRepositoryDecorator(UserRepository delegate, MeterRegistry registry, String adapter) {
+        this.delegate = delegate;
+        var tags = Tags.of("adapter", adapter);
+        this.metrics = new StageMetrics(registry, STAGE, tags);
+        for (LookupStatus status : LookupStatus.values()) {
+            batchResults.put(status, Counter.builder(BATCH_RESULTS)
+                    .tags(tags)
+                    .tag("outcome", status.name().toLowerCase().replace('_', '-'))
+                    .register(registry));
+        }
+    }
+
+    @Override
+    public Mono<UserResponse> findByUser(UserRequest request) {
+        return metrics.record(() -> delegate.findByUser(request));
+    }
+
+    @Override
+    public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+        return delegate.findByUsers(requests)
+                .doOnNext(result -> batchResults.get(result.getStatus()).increment());
+    }
+
+    public StageMetrics metrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,129 @@
+package co.com.prueba.adapter.metrics;
+
+import co.com.prueba.model.exception.CustomException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Metricas de una etapa de la consulta de usuario: el timer {@value #TIMER} por resultado
+ * (found, not-found, bad-request, error), que en Prometheus tambien da el contador _count, y el gauge
+ * {@value #IN_FLIGHT} con las consultas en curso. Los timers se crean una vez para no armar tags
+ * por solicitud.
+ */
+public class StageMetrics {
+
+    public static final String TIMER = "user.lookup";
+    public static final String IN_FLIGHT = "user.lookup.in.flight";
+    public static final String FOUND = "found";
+    public static final String NOT_FOUND = "not-found";
+    public static final String BAD_REQUEST = "bad-request";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry registry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer found;
+    private final Timer notFound;
+    private final Timer badRequest;
+    private final Timer error;
+    private final Gauge inFlightGauge;
+
+    public StageMetrics(MeterRegistry registry, String stage, Tags tags) {
+        this.registry = registry;
+        var stageTags = tags.and("stage", stage);
+        this.found = timer(registry, stageTags, FOUND);
+        this.notFound = timer(registry, stageTags, NOT_FOUND);
+        this.badRequest = timer(registry, stageTags, BAD_REQUEST);
+        this.error = timer(registry, stageTags, ERROR);
+        this.inFlightGauge = Gauge.builder(IN_FLIGHT, inFlight, AtomicInteger::get)
+                .tags(stageTags)
+                .register(registry);
+    }
+
+    public StageMetrics(MeterRegistry registry, String stage) {
+        this(registry, stage, Tags.empty());
+    }
+
+    /**
+     * Mide cada suscripcion desde que se invoca {@code source} (incluye el trabajo sincrono de
+     * armar el Mono): un valor es found, vacio es not-found y los errores se clasifican por el
+     * estado de {@link CustomException}. Una cancelacion solo libera el gauge.
+     */
+    public <T> Mono<T> record(Supplier<Mono<T>> source) {
+        return Mono.defer(() -> {
+            var sample = new Sample(registry.config().clock().monotonicTime());
+            inFlight.incrementAndGet();
+            return Mono.defer(source)
+                    .doOnNext(value -> sample.outcome = found)
+                    .doOnError(throwable -> sample.outcome = outcomeOf(throwable))
+                    .doFinally(signal -> stop(sample, signal));
+        });
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public Timer timer(String outcome) {
+        return switch (outcome) {
+            case FOUND -> found;
+            case NOT_FOUND -> notFound;
+            case BAD_REQUEST -> badRequest;
+            default -> error;
+        };
+    }
+
+    /**
+     * Quita del registro los timers y el gauge de la etapa, por ejemplo al retirar un shard.
+     */
+    public void remove() {
+        List.of(found, notFound, badRequest, error, inFlightGauge).forEach(registry::remove);
+    }
+
+    private void stop(Sample sample, SignalType signal) {
+        inFlight.decrementAndGet();
+        if (signal == SignalType.CANCEL && sample.outcome == null) {
+            return;
+        }
+        var timer = sample.outcome == null ? notFound : sample.outcome;
+        timer.record(registry.config().clock().monotonicTime() - sample.start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer outcomeOf(Throwable throwable) {
+        if (throwable instanceof CustomException customException) {
+            if (customException.getStatus() == HttpStatus.NOT_FOUND) {
+                return notFound;
+            }
+            if (customException.getStatus() == HttpStatus.BAD_REQUEST) {
+                return badRequest;
+            }
+        }
+        return error;
+    }
+
+    private static Timer timer(MeterRegistry registry, Tags tags, String outcome) {
+        return Timer.builder(TIMER)
+                .tags(tags)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static final class Sample {
+        private final long start;
+        private Timer outcome;
+
+        private Sample(long start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package co.com.prueba.adapter.mmap;
+
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserKeySource;
+import co.com.prueba.model.user.gateway.UserRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.LongConsumer;
+
+@Log4j2
+@ConditionalOnProperty(name = "adapter.user.type", havingValue = "mmap")
+public class MappedUserAdapter implements UserRepository, UserKeySource {
+
+    public static final String USER_NOT_FOUND = "No existe el usuario.";
+    public static final String FILE_MAPPED = "Archivo de usuarios mapeado: {} ({} registros)";
+
+    private final MappedUserFile file;
+
+    public MappedUserAdapter(@Value("${adapter.user.mmap.path}") Path path) throws IOException {
+        this.file = MappedUserFile.open(path);
+        log.info(FILE_MAPPED, path, file.size());
+    }
+
+    @Override
+    public Mono<UserResponse> findByUser(UserRequest request) {
+        var userResponse = file.find(UserKey.encode(request));
+        if (userResponse == null) {
+            return Mono.error(USER_NOT_FOUND_ERROR);
+        }
+        return Mono.just(userResponse);
+    }
+
+    @Override
+    public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+        return requests.map(request -> {
+            var userResponse = file.find(UserKey.encode(request));
+            return userResponse == null
+                    ? UserLookupResult.notFound(request, USER_NOT_FOUND)
+                    : UserLookupResult.found(request, userResponse);
+        });
+    }
+
+    public int size() {
+        return file.size();
+    }
+
+    @Override
+    public Mono<Long> userCount() {
+        return Mono.fromSupplier(() -> (long) file.size());
+    }
+
+    @Override
+    public Flux<Long> userKeys() {
+        return Flux.range(0, file.size()).map(file::keyAt);
+    }
+
+    @Override
+    public void addUserKeyListener(LongConsumer listener) {
+        // El archivo mapeado es de solo lectura
+    }
+}
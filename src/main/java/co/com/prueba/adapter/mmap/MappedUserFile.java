@@ -0,0 +1,119 @@
+package co.com.prueba.adapter.mmap;
+
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserResponse;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Archivo binario de usuarios mapeado en memoria (solo lectura).
+ * <pre>
+ * encabezado (32 bytes): magic, version, count, recordsOffset, chunkBits, reservado
+ * indice (count x 16 bytes): llave {@link UserKey} y offset del registro, ordenado por llave
+ * registros: 7 campos [u16 longitud][bytes UTF-8], sin cruzar bloques de 2^chunkBits bytes
+ * </pre>
+ * Nada se deserializa al abrir; cada busqueda es una busqueda binaria sobre el indice mapeado.
+ */
+public class MappedUserFile {
+
+    public static final int MAGIC = 0x55535231;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int ENTRY_SIZE = 16;
+    public static final int FIELDS = 7;
+    public static final int DEFAULT_CHUNK_BITS = 30;
+
+    private final MappedByteBuffer index;
+    private final MappedByteBuffer[] chunks;
+    private final int count;
+    private final int chunkBits;
+    private final long chunkMask;
+
+    private MappedUserFile(MappedByteBuffer index, MappedByteBuffer[] chunks, int count, int chunkBits) {
+        this.index = index;
+        this.chunks = chunks;
+        this.count = count;
+        this.chunkBits = chunkBits;
+        this.chunkMask = (1L << chunkBits) - 1;
+    }
+
+    public static MappedUserFile open(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Formato de archivo de usuarios no soportado: " + path);
+            }
+            long count = header.getLong(8);
+            long recordsOffset = header.getLong(16);
+            int chunkBits = header.getInt(24);
+            if (count * ENTRY_SIZE > Integer.MAX_VALUE || recordsOffset != HEADER_SIZE + count * ENTRY_SIZE) {
+                throw new IOException("Encabezado invalido en " + path);
+            }
+            var index = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, count * ENTRY_SIZE);
+            long recordsSize = channel.size() - recordsOffset;
+            long chunkSize = 1L << chunkBits;
+            var chunks = new MappedByteBuffer[(int) ((recordsSize + chunkSize - 1) >>> chunkBits)];
+            for (int i = 0; i < chunks.length; i++) {
+                long start = (long) i << chunkBits;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, recordsOffset + start,
+                        Math.min(chunkSize, recordsSize - start));
+            }
+            return new MappedUserFile(index, chunks, (int) count, chunkBits);
+        }
+    }
+
+    public UserResponse find(long key) {
+        if (key == UserKey.INVALID) {
+            return null;
+        }
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long candidate = index.getLong(middle * ENTRY_SIZE);
+            if (candidate < key) {
+                low = middle + 1;
+            } else if (candidate > key) {
+                high = middle - 1;
+            } else {
+                return read(index.getLong(middle * ENTRY_SIZE + 8));
+            }
+        }
+        return null;
+    }
+
+    public long keyAt(int position) {
+        return index.getLong(position * ENTRY_SIZE);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private UserResponse read(long offset) {
+        var chunk = chunks[(int) (offset >>> chunkBits)];
+        int position = (int) (offset & chunkMask);
+        var fields = new String[FIELDS];
+        for (int i = 0; i < FIELDS; i++) {
+            int length = Short.toUnsignedInt(chunk.getShort(position));
+            var bytes = new byte[length];
+            chunk.get(position + 2, bytes);
+            fields[i] = new String(bytes, StandardCharsets.UTF_8);
+            position += 2 + length;
+        }
+        return UserResponse.builder()
+                .firstName(fields[0])
+                .secondName(fields[1])
+                .firstLastName(fields[2])
+                .secondLastName(fields[3])
+                .phone(fields[4])
+                .address(fields[5])
+                .residenceCity(fields[6])
+                .build();
+    }
+}
@@ -0,0 +1,206 @@
+package co.com.prueba.adapter.mmap;
+
+import co.com.prueba.adapter.seed.UserSeedReader;
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Genera el archivo que lee {@link MappedUserFile}. Los registros se escriben en un archivo
+ * temporal a medida que llegan; al cerrar se ordena el indice y se arma el archivo final.
+ * <p>
+ * Uso: {@code java -cp app.jar co.com.prueba.adapter.mmap.MappedUserFileWriter usuarios.csv usuarios.bin}
+ */
+public class MappedUserFileWriter implements Closeable {
+
+    private static final int MAX_FIELD_LENGTH = 0xFFFF;
+
+    private final Path target;
+    private final Path records;
+    private final DataOutputStream output;
+    private final int chunkBits;
+    private final long chunkSize;
+    private long position;
+    private long[] keys = new long[1024];
+    private long[] offsets = new long[1024];
+    private int count;
+
+    public MappedUserFileWriter(Path target) throws IOException {
+        this(target, MappedUserFile.DEFAULT_CHUNK_BITS);
+    }
+
+    MappedUserFileWriter(Path target, int chunkBits) throws IOException {
+        this.target = target;
+        this.chunkBits = chunkBits;
+        this.chunkSize = 1L << chunkBits;
+        this.records = Files.createTempFile(target.toAbsolutePath().getParent(), "users", ".records");
+        this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(records), 1 << 16));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: MappedUserFileWriter <usuarios.csv> <usuarios.bin>");
+        }
+        try (var writer = new MappedUserFileWriter(Path.of(args[1]))) {
+            UserSeedReader.read(new FileSystemResource(args[0]), writer::add);
+        }
+    }
+
+    public void add(UserRequest request, UserResponse userResponse) {
+        var key = UserKey.encode(request);
+        if (key == UserKey.INVALID) {
+            throw new IllegalArgumentException("Documento no indexable: "
+                    + request.getDocumentType() + " " + request.getDocumentNumber());
+        }
+        var record = encode(userResponse);
+        if (record.length > chunkSize) {
+            throw new IllegalArgumentException("Registro mas grande que el bloque: " + record.length);
+        }
+        try {
+            long remaining = chunkSize - (position & (chunkSize - 1));
+            if (record.length > remaining) {
+                output.write(new byte[(int) remaining]);
+                position += remaining;
+            }
+            output.write(record);
+        } catch (IOException e) {
+            throw new IllegalStateException("No fue posible escribir el registro", e);
+        }
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, count << 1);
+            offsets = Arrays.copyOf(offsets, count << 1);
+        }
+        keys[count] = key;
+        offsets[count] = position;
+        count++;
+        position += record.length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+        try {
+            sort(0, count - 1);
+            for (int i = 1; i < count; i++) {
+                if (keys[i] == keys[i - 1]) {
+                    throw new IOException("Documento duplicado: " + UserKey.documentType(keys[i])
+                            + " " + UserKey.documentNumber(keys[i]));
+                }
+            }
+            writeTarget();
+        } finally {
+            Files.deleteIfExists(records);
+        }
+    }
+
+    private void writeTarget() throws IOException {
+        try (var channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             var source = FileChannel.open(records, StandardOpenOption.READ)) {
+            var header = ByteBuffer.allocate(MappedUserFile.HEADER_SIZE)
+                    .putInt(MappedUserFile.MAGIC)
+                    .putInt(MappedUserFile.VERSION)
+                    .putLong(count)
+                    .putLong(MappedUserFile.HEADER_SIZE + (long) count * MappedUserFile.ENTRY_SIZE)
+                    .putInt(chunkBits)
+                    .putInt(0)
+                    .flip();
+            writeFully(channel, header);
+            var entries = ByteBuffer.allocate(MappedUserFile.ENTRY_SIZE * 4096);
+            for (int i = 0; i < count; i++) {
+                if (!entries.hasRemaining()) {
+                    writeFully(channel, entries.flip());
+                    entries.clear();
+                }
+                entries.putLong(keys[i]).putLong(offsets[i]);
+            }
+            writeFully(channel, entries.flip());
+            long transferred = 0;
+            long size = source.size();
+            while (transferred < size) {
+                transferred += source.transferTo(transferred, size - transferred, channel);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static byte[] encode(UserResponse userResponse) {
+        var fields = new String[]{
+                userResponse.getFirstName(), userResponse.getSecondName(), userResponse.getFirstLastName(),
+                userResponse.getSecondLastName(), userResponse.getPhone(), userResponse.getAddress(),
+                userResponse.getResidenceCity()};
+        var buffer = new ByteArrayOutputStream(128);
+        for (String field : fields) {
+            var bytes = field == null ? new byte[0] : field.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_FIELD_LENGTH) {
+                throw new IllegalArgumentException("Campo demasiado largo: " + bytes.length);
+            }
+            buffer.write(bytes.length >>> 8);
+            buffer.write(bytes.length);
+            buffer.write(bytes, 0, bytes.length);
+        }
+        return buffer.toByteArray();
+    }
+
+    private void sort(int low, int high) {
+        while (low < high) {
+            if (high - low < 16) {
+                for (int i = low + 1; i <= high; i++) {
+                    for (int j = i; j > low && keys[j - 1] > keys[j]; j--) {
+                        swap(j, j - 1);
+                    }
+                }
+                return;
+            }
+            long pivot = keys[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (j - low < high - i) {
+                sort(low, j);
+                low = i;
+            } else {
+                sort(i, high);
+                high = j;
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        long offset = offsets[i];
+        offsets[i] = offsets[j];
+        offsets[j] = offset;
+    }
+}
@@ -0,0 +1,276 @@
+package co.com.prueba.adapter.r2dbc;
+
+import co.com.prueba.config.UserRepositoryProperties;
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserKeySource;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.ValidationDepth;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+/**
+ * Consulta la tabla {@code users} (ver db/users-schema.sql) a traves de un {@link ConnectionPool}.
+ * Las sentencias se arman una sola vez con marcadores, asi el driver reutiliza la sentencia preparada
+ * (en PostgreSQL con preparedStatementCacheQueries en la URL); los lotes usan un IN de aridad fija
+ * rellenado con {@link UserKey#INVALID}, de modo que todos comparten la misma sentencia.
+ */
+@Log4j2
+@ConditionalOnProperty(name = "adapter.user.type", havingValue = "r2dbc")
+public class R2dbcUserAdapter implements UserRepository, UserKeySource, Closeable {
+
+    public static final String POOL_NAME = "users";
+    public static final String ACQUIRE_TIMER = "r2dbc.pool.acquire";
+    public static final String POOL_WARMED_UP = "Pool R2DBC de usuarios con {} conexiones";
+    public static final String POOL_WARMUP_FAILED = "No fue posible precalentar el pool R2DBC de usuarios: {}";
+
+    private static final String COLUMNS = "user_key, first_name, second_name, first_last_name, "
+            + "second_last_name, phone, address, residence_city";
+    private static final String FIND_BY_KEY = "SELECT " + COLUMNS + " FROM users WHERE user_key = $1";
+    private static final String COUNT = "SELECT COUNT(*) AS users FROM users";
+    private static final String KEYS = "SELECT user_key FROM users";
+    private static final String INSERT = "INSERT INTO users (user_key, document_type, document_number, first_name, "
+            + "second_name, first_last_name, second_last_name, phone, address, residence_city) "
+            + "VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10)";
+
+    private final ConnectionPool pool;
+    private final int batchSize;
+    private final String findByKeys;
+    private final Timer acquireTimer;
+    private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+
+    public R2dbcUserAdapter(UserRepositoryProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(properties.getR2dbc(), POOL_NAME, meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * Adaptador sobre otra base con la misma configuracion de pool, p. ej. una replica de lectura; el
+     * nombre distingue sus metricas de las del pool principal.
+     */
+    public static R2dbcUserAdapter replica(UserRepositoryProperties.R2dbc r2dbc, String url, String poolName,
+                                           MeterRegistry registry) {
+        var replica = new UserRepositoryProperties.R2dbc();
+        replica.setUrl(url);
+        replica.setUsername(r2dbc.getUsername());
+        replica.setPassword(r2dbc.getPassword());
+        replica.setBatchSize(r2dbc.getBatchSize());
+        replica.setPool(r2dbc.getPool());
+        return new R2dbcUserAdapter(replica, poolName, registry);
+    }
+
+    private R2dbcUserAdapter(UserRepositoryProperties.R2dbc r2dbc, String poolName, MeterRegistry registry) {
+        this.pool = new ConnectionPool(poolConfiguration(r2dbc, poolName));
+        this.batchSize = r2dbc.getBatchSize();
+        this.findByKeys = findByKeysSql(batchSize);
+        if (registry != null) {
+            new ConnectionPoolMetrics(pool, poolName, Tags.empty()).bindTo(registry);
+            this.acquireTimer = Timer.builder(ACQUIRE_TIMER).tag("name", poolName).register(registry);
+        } else {
+            this.acquireTimer = null;
+        }
+        pool.warmup().subscribe(
+                connections -> log.info(POOL_WARMED_UP, connections),
+                error -> log.warn(POOL_WARMUP_FAILED, error.getMessage()));
+    }
+
+    @Override
+    public Mono<UserResponse> findByUser(UserRequest request) {
+        var key = UserKey.encode(request);
+        if (key == UserKey.INVALID) {
+            return Mono.error(USER_NOT_FOUND_ERROR);
+        }
+        return withConnection(connection -> Flux.from(connection.createStatement(FIND_BY_KEY)
+                        .bind(0, key)
+                        .execute())
+                .flatMap(result -> result.map(R2dbcUserAdapter::toUser))
+                .next())
+                .switchIfEmpty(Mono.error(USER_NOT_FOUND_ERROR));
+    }
+
+    /**
+     * Agrupa las solicitudes en lotes de batchSize llaves y resuelve cada lote con una sola consulta.
+     * Los resultados conservan el orden de las solicitudes.
+     */
+    @Override
+    public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+        return requests.buffer(batchSize)
+                .concatMap(chunk -> findByKeys(chunk)
+                        .flatMapIterable(users -> chunk.stream()
+                                .map(request -> {
+                                    var userResponse = users.get(UserKey.encode(request));
+                                    return userResponse == null
+                                            ? UserLookupResult.notFound(request, USER_NOT_FOUND)
+                                            : UserLookupResult.found(request, userResponse);
+                                })
+                                .toList()));
+    }
+
+    public Mono<Void> put(UserRequest request, UserResponse userResponse) {
+        var key = UserKey.encode(request);
+        if (key == UserKey.INVALID) {
+            return Mono.error(new IllegalArgumentException("Documento no indexable: "
+                    + request.getDocumentType() + " " + request.getDocumentNumber()));
+        }
+        return withConnection(connection -> Flux.from(bindUser(connection.createStatement(INSERT)
+                                .bind(0, key)
+                                .bind(1, request.getDocumentType())
+                                .bind(2, request.getDocumentNumber()), userResponse)
+                        .execute())
+                .flatMap(result -> result.getRowsUpdated())
+                .then())
+                .doOnSuccess(done -> listeners.forEach(listener -> listener.accept(key)));
+    }
+
+    /**
+     * Los campos del usuario admiten null en la tabla, pero {@link Statement#bind} no lo acepta.
+     */
+    private static Statement bindUser(Statement statement, UserResponse userResponse) {
+        var values = new String[]{userResponse.getFirstName(), userResponse.getSecondName(),
+                userResponse.getFirstLastName(), userResponse.getSecondLastName(), userResponse.getPhone(),
+                userResponse.getAddress(), userResponse.getResidenceCity()};
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                statement.bindNull(3 + i, String.class);
+            } else {
+                statement.bind(3 + i, values[i]);
+            }
+        }
+        return statement;
+    }
+
+    @Override
+    public Mono<Long> userCount() {
+        return withConnection(connection -> Flux.from(connection.createStatement(COUNT).execute())
+                .flatMap(result -> result.map(row -> row.get("users", Long.class)))
+                .next());
+    }
+
+    /**
+     * Recorre la tabla con una conexion del pool durante todo el recorrido; el driver entrega las
+     * filas segun la demanda.
+     */
+    @Override
+    public Flux<Long> userKeys() {
+        return Flux.usingWhen(acquire(),
+                connection -> Flux.from(connection.createStatement(KEYS).execute())
+                        .flatMap(result -> result.map(row -> row.get("user_key", Long.class))),
+                Connection::close);
+    }
+
+    /**
+     * Solo recibe los usuarios agregados con {@link #put}; las escrituras de otros procesos se ven en
+     * la siguiente reconstruccion del filtro.
+     */
+    @Override
+    public void addUserKeyListener(LongConsumer listener) {
+        listeners.add(listener);
+    }
+
+    public Mono<Void> execute(String sql) {
+        return withConnection(connection -> Flux.from(connection.createStatement(sql).execute())
+                .flatMap(result -> result.getRowsUpdated())
+                .then());
+    }
+
+    public ConnectionPool pool() {
+        return pool;
+    }
+
+    @Override
+    public void close() {
+        pool.dispose();
+    }
+
+    private Mono<Map<Long, UserResponse>> findByKeys(List<UserRequest> chunk) {
+        return withConnection(connection -> {
+            var statement = connection.createStatement(findByKeys);
+            for (int i = 0; i < batchSize; i++) {
+                statement.bind(i, i < chunk.size() ? UserKey.encode(chunk.get(i)) : UserKey.INVALID);
+            }
+            return Flux.from(statement.execute())
+                    .flatMap(result -> result.map(row -> Map.entry(row.get("user_key", Long.class), toUser(row))))
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue, () -> new HashMap<>(chunk.size() * 2));
+        });
+    }
+
+    private <T> Mono<T> withConnection(Function<Connection, Mono<T>> work) {
+        return Mono.usingWhen(acquire(), work, Connection::close);
+    }
+
+    private Mono<Connection> acquire() {
+        if (acquireTimer == null) {
+            return pool.create();
+        }
+        return Mono.defer(() -> {
+            var start = System.nanoTime();
+            return pool.create()
+                    .doOnNext(connection -> acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private static UserResponse toUser(Readable row) {
+        return UserResponse.builder()
+                .firstName(row.get("first_name", String.class))
+                .secondName(row.get("second_name", String.class))
+                .firstLastName(row.get("first_last_name", String.class))
+                .secondLastName(row.get("second_last_name", String.class))
+                .phone(row.get("phone", String.class))
+                .address(row.get("address", String.class))
+                .residenceCity(row.get("residence_city", String.class))
+                .build();
+    }
+
+    private static String findByKeysSql(int batchSize) {
+        var sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM users WHERE user_key IN (");
+        for (int i = 1; i <= batchSize; i++) {
+            sql.append(i == 1 ? "$" : ", $").append(i);
+        }
+        return sql.append(')').toString();
+    }
+
+    private static ConnectionPoolConfiguration poolConfiguration(UserRepositoryProperties.R2dbc r2dbc, String poolName) {
+        var options = ConnectionFactoryOptions.parse(r2dbc.getUrl()).mutate();
+        if (r2dbc.getUsername() != null && !r2dbc.getUsername().isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, r2dbc.getUsername());
+        }
+        if (r2dbc.getPassword() != null && !r2dbc.getPassword().isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, r2dbc.getPassword());
+        }
+        var pool = r2dbc.getPool();
+        return ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name(poolName)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .maxAcquireTime(pool.getMaxAcquireTime())
+                .maxCreateConnectionTime(pool.getMaxCreateConnectionTime())
+                .validationDepth(ValidationDepth.LOCAL)
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+package co.com.prueba.adapter.resilience;
+
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Protege las consultas al repositorio envuelto con un timeout por llamada y un circuit breaker, y guarda la
+ * ultima respuesta buena de cada documento. Una entrada mas nueva que {@code refreshAfter} se sirve sin
+ * consultar; una mas vieja se sirve igual y se refresca en segundo plano (stale-while-revalidate), hasta
+ * {@code maxStale}. Sin entrada, las fallas del backend y el circuito abierto responden 503 en vez de
+ * esperar. Los errores 4xx del repositorio no cuentan como fallas y un 404 al refrescar borra la entrada.
+ */
+@Log4j2
+public class StaleWhileRevalidateDecorator implements UserRepository {
+
+    public static final String METRIC_PREFIX = "user.resilience";
+    public static final String UNAVAILABLE = "El repositorio de usuarios no esta disponible.";
+    public static final CustomException UNAVAILABLE_ERROR = CustomException.shared(HttpStatus.SERVICE_UNAVAILABLE, UNAVAILABLE);
+    public static final int CHUNK_SIZE = 64;
+    public static final String REFRESH_FAILED = "No fue posible refrescar el usuario, se sigue sirviendo la ultima respuesta: {}";
+
+    private final UserRepository delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration timeout;
+    private final long refreshAfterNanos;
+    private final Ticker ticker;
+    private final Cache<Long, Entry> lastKnownGood;
+    private final ConcurrentHashMap<Long, Boolean> refreshing = new ConcurrentHashMap<>();
+
+    private Counter staleServed;
+    private Counter refreshFailures;
+
+    public StaleWhileRevalidateDecorator(UserRepository delegate, CircuitBreaker circuitBreaker, Duration timeout,
+                                         Duration refreshAfter, Duration maxStale, long maximumSize) {
+        this(delegate, circuitBreaker, timeout, refreshAfter, maxStale, maximumSize, Ticker.systemTicker());
+    }
+
+    StaleWhileRevalidateDecorator(UserRepository delegate, CircuitBreaker circuitBreaker, Duration timeout,
+                                  Duration refreshAfter, Duration maxStale, long maximumSize, Ticker ticker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.timeout = timeout;
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.ticker = ticker;
+        this.lastKnownGood = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxStale)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * El circuit breaker solo cuenta como fallas los errores que no son 4xx del repositorio.
+     */
+    public static boolean isFailure(Throwable error) {
+        return !(error instanceof CustomException exception) || exception.getStatus().is5xxServerError();
+    }
+
+    @Override
+    public Mono<UserResponse> findByUser(UserRequest request) {
+        var key = UserKey.encode(request);
+        if (key == UserKey.INVALID) {
+            return protect(request);
+        }
+        var entry = lastKnownGood.getIfPresent(key);
+        if (entry == null) {
+            return load(key, request);
+        }
+        if (ticker.read() - entry.fetchedAt >= refreshAfterNanos) {
+            increment(staleServed);
+            refresh(key, request);
+        }
+        return Mono.just(entry.user);
+    }
+
+    /**
+     * Los lotes se consultan en bloques de {@value #CHUNK_SIZE}: cada bloque es una llamada al circuit breaker
+     * con su propio timeout, medido desde que se envia, asi que ni un consumidor lento ni una subida lenta del
+     * cuerpo cortan el lote.
+     */
+    @Override
+    public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+        return requests.buffer(CHUNK_SIZE)
+                .concatMap(chunk -> Mono.defer(() -> delegate.findByUsers(Flux.fromIterable(chunk)).collectList())
+                        .timeout(timeout)
+                        .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                        .onErrorMap(StaleWhileRevalidateDecorator::isFailure, error -> UNAVAILABLE_ERROR))
+                .flatMapIterable(results -> results);
+    }
+
+    public CircuitBreaker.State state() {
+        return circuitBreaker.getState();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        staleServed = Counter.builder(METRIC_PREFIX + ".stale.served")
+                .description("Respuestas servidas desde la ultima respuesta buena mientras se refresca")
+                .register(registry);
+        refreshFailures = Counter.builder(METRIC_PREFIX + ".refresh.failures")
+                .description("Refrescos en segundo plano que fallaron")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".entries", lastKnownGood, Cache::estimatedSize)
+                .description("Documentos con ultima respuesta buena")
+                .register(registry);
+    }
+
+    private Mono<UserResponse> load(long key, UserRequest request) {
+        return protect(request)
+                .doOnNext(user -> lastKnownGood.put(key, new Entry(user, ticker.read())));
+    }
+
+    private void refresh(long key, UserRequest request) {
+        if (refreshing.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        load(key, request)
+                .doFinally(signal -> refreshing.remove(key))
+                .subscribe(user -> {
+                }, error -> {
+                    if (error == USER_NOT_FOUND_ERROR) {
+                        lastKnownGood.invalidate(key);
+                    } else {
+                        increment(refreshFailures);
+                        log.debug(REFRESH_FAILED, error.getMessage());
+                    }
+                });
+    }
+
+    private Mono<UserResponse> protect(UserRequest request) {
+        return Mono.defer(() -> delegate.findByUser(request))
+                .timeout(timeout)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorMap(StaleWhileRevalidateDecorator::isFailure, error -> UNAVAILABLE_ERROR);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private record Entry(UserResponse user, long fetchedAt) {
+    }
+}
@@ -0,0 +1,56 @@
+package co.com.prueba.adapter.seed;
+
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiConsumer;
+
+/**
+ * Lee usuarios desde un archivo separado por ';' con las columnas
+ * documentType;documentNumber;firstName;secondName;firstLastName;secondLastName;phone;address;residenceCity
+ * Las lineas vacias, las que inician con '#' y el encabezado se ignoran.
+ */
+public final class UserSeedReader {
+
+    public static final String SEPARATOR = ";";
+    public static final String HEADER_PREFIX = "documentType";
+    private static final int COLUMNS = 9;
+
+    private UserSeedReader() {
+    }
+
+    public static long read(Resource resource, BiConsumer<UserRequest, UserResponse> consumer) throws IOException {
+        long count = 0;
+        try (var reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#") || line.startsWith(HEADER_PREFIX)) {
+                    continue;
+                }
+                var columns = line.split(SEPARATOR, -1);
+                if (columns.length != COLUMNS) {
+                    throw new IOException("Linea " + lineNumber + " de " + resource.getDescription()
+                            + " tiene " + columns.length + " columnas, se esperaban " + COLUMNS);
+                }
+                consumer.accept(new UserRequest(columns[0].trim(), columns[1].trim()), UserResponse.builder()
+                        .firstName(columns[2])
+                        .secondName(columns[3])
+                        .firstLastName(columns[4])
+                        .secondLastName(columns[5])
+                        .phone(columns[6])
+                        .address(columns[7])
+                        .residenceCity(columns[8])
+                        .build());
+                count++;
+            }
+        }
+        return count;
+    }
+}
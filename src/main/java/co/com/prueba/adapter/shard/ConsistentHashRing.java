@@ -0,0 +1,102 @@
+package co.com.prueba.adapter.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Anillo de hashing consistente inmutable: cada shard ocupa {@code virtualNodes} puntos del anillo y una
+ * llave pertenece al primer punto igual o mayor que su hash. Agregar un shard solo mueve hacia el las llaves
+ * que caen en sus puntos (~1/N del total); quitarlo solo mueve las suyas. Los puntos dependen del nombre
+ * del shard, no de su posicion, asi que el nombre debe ser estable entre despliegues.
+ */
+public final class ConsistentHashRing<T> {
+
+    private final Map<String, T> shards;
+    private final int virtualNodes;
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(Map<String, T> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos un shard");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Los nodos virtuales deben ser positivos: " + virtualNodes);
+        }
+        this.shards = new LinkedHashMap<>(shards);
+        this.virtualNodes = virtualNodes;
+        var entries = new long[shards.size() * virtualNodes][];
+        int position = 0;
+        var names = List.copyOf(shards.keySet());
+        for (int shard = 0; shard < names.size(); shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                entries[position++] = new long[]{pointOf(names.get(shard), node), shard};
+            }
+        }
+        Arrays.sort(entries, (left, right) -> Long.compare(left[0], right[0]));
+        this.points = new long[entries.length];
+        this.owners = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = entries[i][0];
+            owners[i] = names.get((int) entries[i][1]);
+        }
+    }
+
+    public String shardOf(long key) {
+        int index = Arrays.binarySearch(points, mix(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public T get(String shard) {
+        return shards.get(shard);
+    }
+
+    public T route(long key) {
+        return shards.get(shardOf(key));
+    }
+
+    public Map<String, T> shards() {
+        return Collections.unmodifiableMap(shards);
+    }
+
+    public ConsistentHashRing<T> with(String name, T shard) {
+        var next = new LinkedHashMap<>(shards);
+        next.put(name, shard);
+        return new ConsistentHashRing<>(next, virtualNodes);
+    }
+
+    public ConsistentHashRing<T> without(String name) {
+        var next = new LinkedHashMap<>(shards);
+        next.remove(name);
+        return new ConsistentHashRing<>(next, virtualNodes);
+    }
+
+    private static long pointOf(String shard, int node) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : (shard + "#" + node).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Finalizador de MurmurHash3: reparte bits de llaves consecutivas por todo el anillo.
+     */
+    static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,320 @@
+package co.com.prueba.adapter.shard;
+
+import co.com.prueba.adapter.metrics.StageMetrics;
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserKeySource;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Reparte los usuarios entre varios repositorios con un {@link ConsistentHashRing} sobre {@link UserKey}.
+ * Las consultas por lote se cortan en bloques de {@code chunkSize}; cada bloque se divide por shard, las
+ * partes corren en paralelo y los resultados se reordenan como llegaron las solicitudes. Cada shard publica
+ * el timer {@value StageMetrics#TIMER} con {@code stage=shard} y el timer {@value #BATCH_TIMER} por parte de
+ * lote, ambos con el tag {@code shard}. El enrutador solo cierra los shards de los que es dueno (los que le
+ * entregan en {@code owned}), nunca los que siguen siendo de quien los creo, como el adaptador de Spring.
+ */
+public class ShardRouter implements UserRepository, UserKeySource, Closeable {
+
+    public static final String STAGE = "shard";
+    public static final String BATCH_TIMER = "user.shard.batch";
+
+    private final int virtualNodes;
+    private final int chunkSize;
+    private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, StageMetrics> lookupMetrics = new ConcurrentHashMap<>();
+    private final Map<String, Timer> batchTimers = new ConcurrentHashMap<>();
+    private volatile ConsistentHashRing<Shard> ring;
+    private MeterRegistry registry;
+
+    public ShardRouter(Map<String, UserRepository> shards, int virtualNodes, int chunkSize) {
+        this(shards, Set.of(), virtualNodes, chunkSize);
+    }
+
+    public ShardRouter(Map<String, UserRepository> shards, Set<String> owned, int virtualNodes, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("El tamano del bloque debe ser positivo: " + chunkSize);
+        }
+        this.virtualNodes = virtualNodes;
+        this.chunkSize = chunkSize;
+        var entries = new LinkedHashMap<String, Shard>();
+        shards.forEach((name, shard) -> entries.put(name, new Shard(shard, owned.contains(name))));
+        this.ring = new ConsistentHashRing<>(entries, virtualNodes);
+        shards.values().forEach(this::listen);
+    }
+
+    @Override
+    public Mono<UserResponse> findByUser(UserRequest request) {
+        var key = UserKey.encode(request);
+        if (key == UserKey.INVALID) {
+            return Mono.error(USER_NOT_FOUND_ERROR);
+        }
+        return Mono.defer(() -> {
+            ConsistentHashRing<Shard> current;
+            String name;
+            do {
+                current = ring;
+                name = current.shardOf(key);
+            } while (!current.get(name).acquire());
+            return lookup(name, current.get(name), request);
+        });
+    }
+
+    @Override
+    public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+        return requests.buffer(chunkSize)
+                .flatMapSequential(this::findChunk, 2)
+                .flatMapIterable(chunk -> chunk);
+    }
+
+    /**
+     * Agrega (o reemplaza) un shard. Solo se mueven hacia el las llaves que caen en sus puntos del anillo;
+     * los datos de esas llaves deben copiarse antes de agregarlo.
+     */
+    public void addShard(String name, UserRepository shard) {
+        addShard(name, shard, false);
+    }
+
+    public void addShard(String name, UserRepository shard, boolean owned) {
+        var replaced = ring.get(name);
+        ring = ring.with(name, new Shard(shard, owned));
+        listen(shard);
+        if (registry != null) {
+            bind(name);
+        }
+        if (replaced != null) {
+            replaced.retire();
+        }
+    }
+
+    /**
+     * Quita el shard del anillo (sus llaves pasan a los demas shards) y sus metricas del registro. Si el
+     * enrutador es su dueno y es {@link Closeable}, lo cierra cuando terminan las consultas que ya lo usaban.
+     */
+    public void removeShard(String name) {
+        var removed = ring.get(name);
+        ring = ring.without(name);
+        var metrics = lookupMetrics.remove(name);
+        if (metrics != null) {
+            metrics.remove();
+        }
+        var timer = batchTimers.remove(name);
+        if (timer != null) {
+            registry.remove(timer);
+        }
+        if (removed != null) {
+            removed.retire();
+        }
+    }
+
+    /**
+     * Cierra los shards propios, cada uno al terminar sus consultas en curso.
+     */
+    @Override
+    public void close() {
+        ring.shards().values().forEach(Shard::retire);
+    }
+
+    public String shardOf(UserRequest request) {
+        return ring.shardOf(UserKey.encode(request));
+    }
+
+    public Map<String, UserRepository> shards() {
+        var shards = new LinkedHashMap<String, UserRepository>();
+        ring.shards().forEach((name, shard) -> shards.put(name, shard.repository));
+        return shards;
+    }
+
+    @Override
+    public Mono<Long> userCount() {
+        return Flux.fromIterable(shards().values())
+                .filter(UserKeySource.class::isInstance)
+                .flatMap(shard -> ((UserKeySource) shard).userCount())
+                .reduce(0L, Long::sum);
+    }
+
+    @Override
+    public Flux<Long> userKeys() {
+        return Flux.fromIterable(shards().values())
+                .filter(UserKeySource.class::isInstance)
+                .concatMap(shard -> ((UserKeySource) shard).userKeys());
+    }
+
+    @Override
+    public void addUserKeyListener(LongConsumer listener) {
+        listeners.add(listener);
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        ring.shards().keySet().forEach(this::bind);
+    }
+
+    private void bind(String shard) {
+        lookupMetrics.computeIfAbsent(shard, name -> new StageMetrics(registry, STAGE, Tags.of("shard", name)));
+        batchTimers.computeIfAbsent(shard, name -> Timer.builder(BATCH_TIMER)
+                .tag("shard", name)
+                .description("Duracion de la parte de un lote enviada a un shard")
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private void listen(UserRepository shard) {
+        if (shard instanceof UserKeySource source) {
+            source.addUserKeyListener(key -> listeners.forEach(listener -> listener.accept(key)));
+        }
+    }
+
+    private Mono<UserResponse> lookup(String name, Shard shard, UserRequest request) {
+        var metrics = lookupMetrics.get(name);
+        var repository = shard.repository;
+        var lookup = metrics == null
+                ? Mono.defer(() -> repository.findByUser(request))
+                : metrics.record(() -> repository.findByUser(request));
+        return lookup.doFinally(signal -> shard.release());
+    }
+
+    /**
+     * Toma todos los shards del bloque sobre el mismo anillo; si alguno ya se cerro porque lo quitaron,
+     * vuelve a repartir el bloque con el anillo nuevo.
+     */
+    private Mono<List<UserLookupResult>> findChunk(List<UserRequest> chunk) {
+        return Mono.defer(() -> {
+            var results = new UserLookupResult[chunk.size()];
+            ConsistentHashRing<Shard> current;
+            Map<String, List<Integer>> positions;
+            do {
+                current = ring;
+                positions = positions(current, chunk, results);
+            } while (!acquireAll(current, positions.keySet()));
+            var routed = current;
+            var parts = positions;
+            return Flux.fromIterable(parts.entrySet())
+                    .flatMap(entry -> findPart(routed, entry.getKey(), entry.getValue(), chunk, results),
+                            Math.max(parts.size(), 1))
+                    .then(Mono.fromSupplier(() -> List.of(results)))
+                    .doFinally(signal -> parts.keySet().forEach(name -> routed.get(name).release()));
+        });
+    }
+
+    private static Map<String, List<Integer>> positions(ConsistentHashRing<Shard> current, List<UserRequest> chunk,
+                                                        UserLookupResult[] results) {
+        var positions = new LinkedHashMap<String, List<Integer>>();
+        for (int i = 0; i < chunk.size(); i++) {
+            var request = chunk.get(i);
+            var key = UserKey.encode(request);
+            if (key == UserKey.INVALID) {
+                results[i] = UserLookupResult.notFound(request, USER_NOT_FOUND);
+            } else {
+                positions.computeIfAbsent(current.shardOf(key), shard -> new ArrayList<>()).add(i);
+            }
+        }
+        return positions;
+    }
+
+    private static boolean acquireAll(ConsistentHashRing<Shard> current, Set<String> names) {
+        var acquired = new ArrayList<Shard>(names.size());
+        for (var name : names) {
+            var shard = current.get(name);
+            if (!shard.acquire()) {
+                acquired.forEach(Shard::release);
+                return false;
+            }
+            acquired.add(shard);
+        }
+        return true;
+    }
+
+    private Mono<Void> findPart(ConsistentHashRing<Shard> current, String shard, List<Integer> indexes,
+                                List<UserRequest> chunk, UserLookupResult[] results) {
+        var requests = new ArrayList<UserRequest>(indexes.size());
+        indexes.forEach(index -> requests.add(chunk.get(index)));
+        var byKey = new HashMap<Long, UserLookupResult>(indexes.size() * 2);
+        var part = current.get(shard).repository.findByUsers(Flux.fromIterable(requests))
+                .doOnNext(result -> byKey.put(UserKey.encode(result.getDocumentType(), result.getDocumentNumber()), result))
+                .then(Mono.fromRunnable(() -> {
+                    for (int i = 0; i < indexes.size(); i++) {
+                        var request = requests.get(i);
+                        var result = byKey.get(UserKey.encode(request));
+                        results[indexes.get(i)] = result != null ? result : UserLookupResult.notFound(request, USER_NOT_FOUND);
+                    }
+                }));
+        var timer = batchTimers.get(shard);
+        if (timer == null) {
+            return part.then();
+        }
+        return Mono.defer(() -> {
+            var sample = Timer.start(registry);
+            return part.doOnTerminate(() -> sample.stop(timer)).then();
+        });
+    }
+
+    /**
+     * Shard del anillo con sus consultas en curso. Al retirarlo se cierra, si el enrutador es su dueno, cuando
+     * termina la ultima consulta que lo tomo; {@code -1} marca que ya no acepta consultas.
+     */
+    private static final class Shard {
+        private final UserRepository repository;
+        private final boolean owned;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean retired;
+
+        private Shard(UserRepository repository, boolean owned) {
+            this.repository = repository;
+            this.owned = owned;
+        }
+
+        private boolean acquire() {
+            int current;
+            do {
+                current = inFlight.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!inFlight.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private void release() {
+            if (inFlight.decrementAndGet() == 0 && retired) {
+                closeIfIdle();
+            }
+        }
+
+        private void retire() {
+            retired = true;
+            closeIfIdle();
+        }
+
+        private void closeIfIdle() {
+            if (inFlight.compareAndSet(0, -1) && owned && repository instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
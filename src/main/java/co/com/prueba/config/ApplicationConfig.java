@@ -1,22 +1,16 @@
 package co.com.prueba.config;
 
-import io.swagger.v3.oas.models.Components;
-import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.info.Info;
+import co.com.prueba.entrypoints.codec.CborValueEncoder;
+import co.com.prueba.entrypoints.codec.ProtobufResponseEncoder;
 import org.springframework.boot.autoconfigure.web.WebProperties;
+import org.springframework.boot.web.codec.CodecCustomizer;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
 
 @Configuration
-@ComponentScan(basePackages = {"co.com.prueba.usecase","co.com.prueba.adapter","co.com.prueba.model"},
-        includeFilters = {
-                @ComponentScan.Filter(type = FilterType.REGEX, pattern = "^.+UseCase$"),
-                @ComponentScan.Filter(type = FilterType.REGEX, pattern = "^.+Adapter$"),
-                @ComponentScan.Filter(type = FilterType.REGEX, pattern = "^.+Repository$"),
-        },
-        useDefaultFilters = false)
+@ImportRuntimeHints(NativeHints.class)
 public class ApplicationConfig {
 
         @Bean
@@ -24,11 +18,17 @@ public class ApplicationConfig {
                 return new WebProperties.Resources();
         }
 
+        /**
+         * Smile ya es un codec por defecto de WebFlux cuando jackson-dataformat-smile esta en el classpath;
+         * CBOR y la escritura Protobuf de las respuestas se registran aqui.
+         */
         @Bean
-        public OpenAPI reactiveOpenAPI() {
-                return new OpenAPI()
-                        .components(new Components())
-                        .info(new Info().title("App API").description("Documentación de la App"));
+        public CodecCustomizer binaryCodecs(){
+                return configurer -> {
+                        configurer.customCodecs().register(new CborValueEncoder());
+                        configurer.customCodecs().register(new Jackson2CborDecoder());
+                        configurer.customCodecs().register(new ProtobufResponseEncoder());
+                };
         }
 
 }
@@ -0,0 +1,23 @@
+package co.com.prueba.config;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * Registro por escaneo del classpath (modo por defecto): los componentes de {@code co.com.prueba}, entre
+ * ellos {@link UseCaseScanConfig}. Con {@code startup.bean-registration=functional} no se escanea y los
+ * beans los registra {@link FunctionalBeanRegistration}.
+ */
+@Configuration
+@ConditionalOnProperty(name = FunctionalBeanRegistration.PROPERTY, havingValue = "scan", matchIfMissing = true)
+@ComponentScan(basePackages = "co.com.prueba",
+        excludeFilters = {
+                @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+                @ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class)
+        })
+public class ComponentScanConfig {
+}
@@ -0,0 +1,73 @@
+package co.com.prueba.config;
+
+import co.com.prueba.adapter.UserServiceAdapter;
+import co.com.prueba.adapter.blocking.BlockingUserRepositoryAdapter;
+import co.com.prueba.adapter.memory.InMemoryUserAdapter;
+import co.com.prueba.adapter.mmap.MappedUserAdapter;
+import co.com.prueba.adapter.r2dbc.R2dbcUserAdapter;
+import co.com.prueba.entrypoints.exception.GlobalExceptionHandler;
+import co.com.prueba.entrypoints.filter.ConcurrencyLimitFilter;
+import co.com.prueba.entrypoints.handler.EncodedResponseCache;
+import co.com.prueba.entrypoints.handler.UserHandler;
+import co.com.prueba.entrypoints.router.OpenApiDocumentRouter;
+import co.com.prueba.entrypoints.router.UserRouter;
+import co.com.prueba.entrypoints.rsocket.UserRSocketController;
+import co.com.prueba.model.exception.CustomAttribute;
+import co.com.prueba.model.user.gateway.UserRepository;
+import co.com.prueba.usecase.UserUseCase;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+
+/**
+ * Registro explicito de los beans de la aplicacion, sin escanear el classpath
+ * ({@code startup.bean-registration=functional}). El adaptador se elige aqui con adapter.user.type, ya que
+ * las condiciones de las clases registradas asi no se evaluan.
+ */
+public class FunctionalBeanRegistration implements ApplicationContextInitializer<GenericApplicationContext> {
+
+    public static final String PROPERTY = "startup.bean-registration";
+    public static final String FUNCTIONAL = "functional";
+
+    private static final Map<String, Class<? extends UserRepository>> ADAPTERS = Map.of(
+            "stub", UserServiceAdapter.class,
+            "in-memory", InMemoryUserAdapter.class,
+            "mmap", MappedUserAdapter.class,
+            "r2dbc", R2dbcUserAdapter.class,
+            "blocking", BlockingUserRepositoryAdapter.class);
+
+    @Override
+    public void initialize(GenericApplicationContext context) {
+        var environment = context.getEnvironment();
+        if (!FUNCTIONAL.equals(environment.getProperty(PROPERTY))) {
+            return;
+        }
+        var type = environment.getProperty("adapter.user.type", "stub");
+        var adapter = ADAPTERS.get(type);
+        if (adapter == null) {
+            throw new IllegalStateException("Tipo de adaptador desconocido: " + type + ", se esperaba uno de "
+                    + ADAPTERS.keySet());
+        }
+        context.registerBean(ApplicationConfig.class);
+        if (ClassUtils.isPresent(OpenApiConfig.SPRINGDOC_CONFIGURATION, context.getClassLoader())) {
+            context.registerBean(OpenApiConfig.class);
+        } else {
+            context.registerBean(OpenApiDocumentRouter.class);
+        }
+        context.registerBean(UserRepositoryConfig.class);
+        context.registerBean(adapter);
+        context.registerBean(UserUseCase.class);
+        context.registerBean(EncodedResponseCache.class);
+        context.registerBean(UserHandler.class);
+        context.registerBean(UserRouter.class);
+        context.registerBean(UserRSocketController.class);
+        context.registerBean(ConcurrencyLimitFilter.class);
+        context.registerBean(CustomAttribute.class);
+        context.registerBean(GlobalExceptionHandler.class);
+        if (environment.getProperty("startup.training.enabled", Boolean.class, false)) {
+            context.registerBean(TrainingRun.class);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package co.com.prueba.config;
+
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.CustomExceptionE;
+import co.com.prueba.model.user.LookupStatus;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.info.Info;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.http.HttpStatus;
+
+import java.util.stream.Stream;
+
+/**
+ * Pistas para la imagen nativa: lo que se usa por reflexion o se lee del classpath y que el
+ * procesamiento AOT de Spring no descubre solo (modelos Lombok serializados con Jackson, el cuerpo de
+ * los errores de {@code GlobalExceptionHandler}, el modelo de springdoc y los plugins de Log4j2).
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] RESOURCES = {
+            "users.csv",
+            "db/users-schema.sql",
+            "log4j2*.properties",
+            "META-INF/org/apache/logging/log4j/core/config/plugins/Log4j2Plugins.dat",
+            "META-INF/resources/webjars/swagger-ui/*"
+    };
+
+    private static final String[] LOG4J2_PLUGINS = {
+            "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector",
+            "org.apache.logging.log4j.core.config.properties.PropertiesConfigurationFactory",
+            "org.apache.logging.log4j.core.appender.ConsoleAppender",
+            "org.apache.logging.log4j.core.layout.PatternLayout",
+            "org.apache.logging.log4j.core.filter.BurstFilter"
+    };
+
+    private final BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindings.registerReflectionHints(hints.reflection(),
+                UserRequest.class, UserResponse.class, UserLookupResult.class, LookupStatus.class, CustomExceptionE.class,
+                HttpStatus.class, OpenAPI.class, Info.class, Components.class);
+        Stream.of(UserRequest.UserRequestBuilder.class, CustomException.class)
+                .forEach(type -> hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS));
+        Stream.of(LOG4J2_PLUGINS)
+                .forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS));
+        Stream.of(RESOURCES).forEach(hints.resources()::registerPattern);
+    }
+}
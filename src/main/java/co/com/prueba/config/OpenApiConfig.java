@@ -0,0 +1,60 @@
+package co.com.prueba.config;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.servers.Server;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Documentacion OpenAPI generada por springdoc en tiempo de ejecucion. Sin springdoc en el classpath
+ * (perfil Maven {@code prod}) el documento generado al compilar lo sirve
+ * {@link co.com.prueba.entrypoints.router.OpenApiDocumentRouter}.
+ */
+@Configuration
+@ConditionalOnClass(name = OpenApiConfig.SPRINGDOC_CONFIGURATION)
+public class OpenApiConfig {
+
+        public static final String SPRINGDOC_CONFIGURATION = "org.springdoc.core.configuration.SpringDocConfiguration";
+        public static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+        /**
+         * Con openapi.server-url el documento declara ese servidor en lugar del host de la solicitud; el
+         * documento generado al compilar usa "/" para no quedar atado al puerto de la generacion.
+         */
+        @Bean
+        @Lazy
+        public OpenAPI reactiveOpenAPI(@Value("${openapi.server-url:}") String serverUrl) {
+                var openAPI = new OpenAPI()
+                        .components(new Components())
+                        .info(new Info().title("App API").description("Documentación de la App"));
+                if (!serverUrl.isEmpty()) {
+                        openAPI.addServersItem(new Server().url(serverUrl));
+                }
+                return openAPI;
+        }
+
+        /**
+         * La documentacion OpenAPI no esta en el camino de las consultas: sus beans se crean con la primera
+         * solicitud a la documentacion y no al arrancar.
+         */
+        @Bean
+        public static BeanFactoryPostProcessor lazyOpenApiBeans() {
+                return beanFactory -> Stream.of(beanFactory.getBeanDefinitionNames())
+                        .map(name -> Map.entry(name, beanFactory.getBeanDefinition(name)))
+                        .filter(bean -> Stream.of(bean.getKey(), bean.getValue().getBeanClassName(),
+                                        bean.getValue().getFactoryBeanName())
+                                .filter(Objects::nonNull)
+                                .anyMatch(name -> name.startsWith(SPRINGDOC_PACKAGE)))
+                        .forEach(bean -> bean.getValue().setLazyInit(true));
+        }
+}
@@ -0,0 +1,82 @@
+package co.com.prueba.config;
+
+import lombok.extern.log4j.Log4j2;
+import org.crac.Core;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Ejecucion de entrenamiento: al quedar lista la aplicacion se envian solicitudes a si misma para cargar
+ * y calentar el camino de {@code /api/v1/user}, y despues termina (para que la JVM vuelque el archivo
+ * AppCDS de {@code -XX:ArchiveClassesAtExit}) o crea un checkpoint CRaC ya caliente.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "startup.training.enabled", havingValue = "true")
+public class TrainingRun {
+
+    public static final String TRAINING_COMPLETED = "Entrenamiento completado: {} respuestas en {} ms, al terminar: {}";
+
+    public enum OnComplete { NONE, EXIT, CHECKPOINT }
+
+    private final int requests;
+    private final List<String> paths;
+    private final OnComplete onComplete;
+    private final Duration timeout;
+
+    public TrainingRun(@Value("${startup.training.requests:2000}") int requests,
+                       @Value("${startup.training.paths}") List<String> paths,
+                       @Value("${startup.training.on-complete:exit}") OnComplete onComplete,
+                       @Value("${startup.training.timeout:60s}") Duration timeout) {
+        this.requests = requests;
+        this.paths = paths;
+        this.onComplete = onComplete;
+        this.timeout = timeout;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        var context = event.getApplicationContext();
+        train(context.getEnvironment().getRequiredProperty("local.server.port", Integer.class));
+        complete(context);
+    }
+
+    public long train(int port) {
+        var client = WebClient.create("http://localhost:" + port);
+        long start = System.nanoTime();
+        Long responses = Flux.range(0, requests)
+                .concatMap(i -> client.get().uri(paths.get(i % paths.size()))
+                        .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode())))
+                .count()
+                .block(timeout);
+        log.info(TRAINING_COMPLETED, responses, Duration.ofNanos(System.nanoTime() - start).toMillis(), onComplete);
+        return responses == null ? 0 : responses;
+    }
+
+    private void complete(ApplicationContext context) {
+        switch (onComplete) {
+            case EXIT -> System.exit(SpringApplication.exit(context));
+            case CHECKPOINT -> checkpoint();
+            case NONE -> { }
+        }
+    }
+
+    private static void checkpoint() {
+        try {
+            Core.checkpointRestore();
+        } catch (Exception e) {
+            // Sin una JVM con CRaC (o sin permisos) la aplicacion sigue atendiendo sin checkpoint
+            log.warn("No fue posible crear el checkpoint CRaC: {}", e.toString());
+        }
+    }
+}
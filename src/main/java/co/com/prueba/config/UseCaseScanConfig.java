@@ -0,0 +1,18 @@
+package co.com.prueba.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+
+@Configuration
+@ConditionalOnProperty(name = FunctionalBeanRegistration.PROPERTY, havingValue = "scan", matchIfMissing = true)
+@ComponentScan(basePackages = {"co.com.prueba.usecase","co.com.prueba.adapter","co.com.prueba.model"},
+        includeFilters = {
+                @ComponentScan.Filter(type = FilterType.REGEX, pattern = "^.+UseCase$"),
+                @ComponentScan.Filter(type = FilterType.REGEX, pattern = "^.+Adapter$"),
+                @ComponentScan.Filter(type = FilterType.REGEX, pattern = "^.+Repository$"),
+        },
+        useDefaultFilters = false)
+public class UseCaseScanConfig {
+}
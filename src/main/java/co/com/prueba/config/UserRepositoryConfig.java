@@ -0,0 +1,208 @@
+package co.com.prueba.config;
+
+import co.com.prueba.adapter.batch.MicroBatchingDecorator;
+import co.com.prueba.adapter.bloom.BloomFilterDecorator;
+import co.com.prueba.adapter.hedge.HedgeBudget;
+import co.com.prueba.adapter.hedge.HedgingReplicaRouter;
+import co.com.prueba.adapter.hedge.LatencyPercentile;
+import co.com.prueba.adapter.cache.UserCacheDecorator;
+import co.com.prueba.adapter.metrics.MeteredUserRepositoryDecorator;
+import co.com.prueba.adapter.r2dbc.R2dbcUserAdapter;
+import co.com.prueba.adapter.resilience.StaleWhileRevalidateDecorator;
+import co.com.prueba.adapter.shard.ShardRouter;
+import co.com.prueba.model.user.gateway.UserKeySource;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Arma el {@link UserRepository} que consumen los casos de uso: el adaptador activo
+ * (seleccionado con adapter.user.type) envuelto por los decoradores habilitados. Con shards, el enrutador
+ * por hash consistente reemplaza al adaptador como base de todas las capas. Las coberturas entre
+ * replicas y el agrupamiento en lotes van pegados al adaptador y las metricas sobre ellos, asi que miden
+ * las consultas que pasan la cache y el filtro de Bloom, incluida la espera del lote. El circuit breaker
+ * envuelve las metricas, asi que el timer tambien registra las llamadas cortadas por timeout; el filtro
+ * solo se arma si el adaptador es un {@link UserKeySource}.
+ */
+@Configuration
+@EnableConfigurationProperties(UserRepositoryProperties.class)
+public class UserRepositoryConfig implements DisposableBean {
+
+    public static final String CIRCUIT_BREAKER = "users";
+
+    private final List<Runnable> shutdownHooks = new CopyOnWriteArrayList<>();
+
+    @Bean
+    @Primary
+    public UserRepository userRepository(UserRepository adapter, UserRepositoryProperties properties,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        var registry = meterRegistry.getIfAvailable();
+        var base = adapter;
+        var shard = properties.getShard();
+        if (shard.isEnabled()) {
+            var shards = shards(adapter, properties, registry);
+            var owned = shards.entrySet().stream()
+                    .filter(entry -> entry.getValue() != adapter)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+            var router = new ShardRouter(shards, owned, shard.getVirtualNodes(), shard.getChunkSize());
+            shutdownHooks.add(router::close);
+            if (registry != null) {
+                router.bindTo(registry);
+            }
+            base = router;
+        }
+        var repository = base;
+        var hedge = properties.getHedge();
+        if (hedge.isEnabled()) {
+            var replicas = replicas(base, properties, registry);
+            replicas.subList(1, replicas.size()).forEach(this::closeOnShutdown);
+            var decorator = new HedgingReplicaRouter(replicas,
+                    new LatencyPercentile(hedge.getPercentile(), hedge.getWindowSize(), hedge.getMinSamples(),
+                            hedge.getInitialDelay().toNanos()),
+                    new HedgeBudget(hedge.getBudget(), hedge.getMaxTokens()), hedge.getMinDelay());
+            if (registry != null) {
+                decorator.bindTo(registry);
+            }
+            repository = decorator;
+        }
+        var batch = properties.getBatch();
+        if (batch.isEnabled()) {
+            var decorator = new MicroBatchingDecorator(repository, batch.getMaxSize(), batch.getWindow());
+            if (registry != null) {
+                decorator.bindTo(registry);
+            }
+            repository = decorator;
+        }
+        if (properties.getMetrics().isEnabled() && registry != null) {
+            repository = new MeteredUserRepositoryDecorator(repository, registry, properties.getType());
+        }
+        var resilience = properties.getResilience();
+        if (resilience.isEnabled()) {
+            var circuitBreakers = CircuitBreakerRegistry.of(circuitBreakerConfig(resilience));
+            var decorator = new StaleWhileRevalidateDecorator(repository, circuitBreakers.circuitBreaker(CIRCUIT_BREAKER),
+                    resilience.getTimeout(), resilience.getRefreshAfter(), resilience.getMaxStale(),
+                    resilience.getMaximumSize());
+            if (registry != null) {
+                TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(registry);
+                decorator.bindTo(registry);
+            }
+            repository = decorator;
+        }
+        var bloom = properties.getBloom();
+        if (bloom.isEnabled() && base instanceof UserKeySource source) {
+            if (!bloom.getRebuildInterval().isPositive() && sharedStore(base)) {
+                throw new IllegalStateException("El filtro de Bloom sobre r2dbc requiere "
+                        + "adapter.user.bloom.rebuild-interval positivo: las filas de otros procesos no se "
+                        + "verian nunca");
+            }
+            var decorator = new BloomFilterDecorator(repository, source, bloom.getFalsePositiveRate(),
+                    bloom.getSizeFactor(), bloom.getMinimumSize());
+            if (registry != null) {
+                decorator.bindTo(registry);
+            }
+            decorator.start(bloom.getRebuildInterval());
+            shutdownHooks.add(decorator::stop);
+            repository = decorator;
+        }
+        var cache = properties.getCache();
+        if (cache.isEnabled()) {
+            var decorator = new UserCacheDecorator(repository, cache.getMaximumSize(), cache.getTtl());
+            if (registry != null) {
+                decorator.bindTo(registry);
+            }
+            repository = decorator;
+        }
+        return repository;
+    }
+
+    /**
+     * El adaptador activo y, con r2dbc, un adaptador por cada URL de adapter.user.r2dbc.replica-urls.
+     */
+    static List<UserRepository> replicas(UserRepository adapter, UserRepositoryProperties properties,
+                                         MeterRegistry registry) {
+        var replicas = new ArrayList<UserRepository>();
+        replicas.add(adapter);
+        if (adapter instanceof R2dbcUserAdapter) {
+            var r2dbc = properties.getR2dbc();
+            for (int i = 0; i < r2dbc.getReplicaUrls().size(); i++) {
+                replicas.add(R2dbcUserAdapter.replica(r2dbc, r2dbc.getReplicaUrls().get(i),
+                        R2dbcUserAdapter.POOL_NAME + "-replica-" + (i + 1), registry));
+            }
+        }
+        return replicas;
+    }
+
+    /**
+     * El adaptador activo como shard-0 y, con r2dbc, un shard por cada URL de adapter.user.shard.urls.
+     */
+    static Map<String, UserRepository> shards(UserRepository adapter, UserRepositoryProperties properties,
+                                              MeterRegistry registry) {
+        var shards = new LinkedHashMap<String, UserRepository>();
+        shards.put("shard-0", adapter);
+        if (adapter instanceof R2dbcUserAdapter) {
+            var urls = properties.getShard().getUrls();
+            for (int i = 0; i < urls.size(); i++) {
+                shards.put("shard-" + (i + 1), R2dbcUserAdapter.replica(properties.getR2dbc(), urls.get(i),
+                        R2dbcUserAdapter.POOL_NAME + "-shard-" + (i + 1), registry));
+            }
+        }
+        return shards;
+    }
+
+    /**
+     * Detiene las tareas y cierra los recursos creados aqui que no son beans.
+     */
+    @Override
+    public void destroy() {
+        shutdownHooks.forEach(Runnable::run);
+        shutdownHooks.clear();
+    }
+
+    /**
+     * Los adaptadores r2dbc de replicas no son beans, asi que su pool se cierra con esta configuracion; los de
+     * shards los cierra el enrutador, que es su dueno.
+     */
+    private void closeOnShutdown(UserRepository repository) {
+        if (repository instanceof R2dbcUserAdapter r2dbc) {
+            shutdownHooks.add(r2dbc::close);
+        }
+    }
+
+    /**
+     * Un store que otros procesos tambien escriben, cuyas llaves nuevas no llegan por el listener.
+     */
+    static boolean sharedStore(UserRepository repository) {
+        if (repository instanceof ShardRouter router) {
+            return router.shards().values().stream().anyMatch(UserRepositoryConfig::sharedStore);
+        }
+        return repository instanceof R2dbcUserAdapter;
+    }
+
+    public static CircuitBreakerConfig circuitBreakerConfig(UserRepositoryProperties.Resilience resilience) {
+        return CircuitBreakerConfig.custom()
+                .failureRateThreshold(resilience.getFailureRateThreshold())
+                .slidingWindowSize(resilience.getSlidingWindowSize())
+                .minimumNumberOfCalls(resilience.getMinimumCalls())
+                .waitDurationInOpenState(resilience.getWaitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(resilience.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(false)
+                .recordException(StaleWhileRevalidateDecorator::isFailure)
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package co.com.prueba.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "adapter.user")
+public class UserRepositoryProperties {
+
+    private String type = "stub";
+    private Cache cache = new Cache();
+    private Metrics metrics = new Metrics();
+    private R2dbc r2dbc = new R2dbc();
+    private Bloom bloom = new Bloom();
+    private Blocking blocking = new Blocking();
+    private Batch batch = new Batch();
+    private Resilience resilience = new Resilience();
+    private Hedge hedge = new Hedge();
+    private Shard shard = new Shard();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled;
+        private long maximumSize = 100_000;
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class R2dbc {
+        private String url = "r2dbc:postgresql://localhost:5432/users";
+        private String username;
+        private String password;
+        private int batchSize = 32;
+        private List<String> replicaUrls = new ArrayList<>();
+        private Pool pool = new Pool();
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int initialSize = 10;
+        private int maxSize = 20;
+        private Duration maxIdleTime = Duration.ofMinutes(30);
+        private Duration maxLifeTime = Duration.ofHours(1);
+        private Duration maxAcquireTime = Duration.ofSeconds(2);
+        private Duration maxCreateConnectionTime = Duration.ofSeconds(2);
+    }
+
+    @Getter
+    @Setter
+    public static class Bloom {
+        private boolean enabled;
+        private double falsePositiveRate = 0.01;
+        private double sizeFactor = 1.5;
+        private long minimumSize = 1024;
+        private Duration rebuildInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Metrics {
+        private boolean enabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        private boolean enabled;
+        private int maxSize = 64;
+        private Duration window = Duration.ofMillis(2);
+    }
+
+    @Getter
+    @Setter
+    public static class Hedge {
+        private boolean enabled;
+        private double percentile = 0.95;
+        private int windowSize = 1024;
+        private int minSamples = 100;
+        private Duration initialDelay = Duration.ofMillis(50);
+        private Duration minDelay = Duration.ofMillis(1);
+        private double budget = 0.1;
+        private int maxTokens = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private boolean enabled;
+        private int virtualNodes = 128;
+        private int chunkSize = 256;
+        private List<String> urls = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Resilience {
+        private boolean enabled;
+        private Duration timeout = Duration.ofMillis(500);
+        private Duration refreshAfter = Duration.ofSeconds(30);
+        private Duration maxStale = Duration.ofHours(1);
+        private long maximumSize = 100_000;
+        private float failureRateThreshold = 50;
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+        private int permittedCallsInHalfOpenState = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class Blocking {
+        private SchedulerType scheduler = SchedulerType.VIRTUAL;
+        private int maxConcurrency = 1000;
+        private boolean pinningDetection = true;
+        private Duration pinningThreshold = Duration.ofMillis(20);
+    }
+
+    public enum SchedulerType {
+        VIRTUAL, BOUNDED_ELASTIC
+    }
+}
@@ -0,0 +1,57 @@
+package co.com.prueba.entrypoints.codec;
+
+import co.com.prueba.entrypoints.router.UserRouter;
+import org.springframework.http.MediaType;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Formatos binarios que se pueden pedir con Accept ademas de JSON. JSON sigue siendo el formato por
+ * defecto: se usa cuando no hay Accept, cuando el tipo preferido es compatible con JSON (incluye
+ * {@code *}{@code /*}) o cuando ninguno de los tipos pedidos es conocido.
+ */
+public final class BinaryMediaTypes {
+
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType SMILE = MediaType.parseMediaType(UserRouter.SMILE_VALUE);
+    public static final MediaType PROTOBUF = MediaType.parseMediaType(UserRouter.PROTOBUF_VALUE);
+    public static final MediaType PROTOBUF_STANDARD = MediaType.parseMediaType("application/protobuf");
+    public static final List<MediaType> ALL = List.of(CBOR, SMILE, PROTOBUF, PROTOBUF_STANDARD);
+
+    private static final Comparator<MediaType> BY_QUALITY =
+            Comparator.comparingDouble(MediaType::getQualityValue).reversed();
+
+    private BinaryMediaTypes() {
+    }
+
+    public static MediaType select(List<MediaType> accept) {
+        if (accept.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        return accept.stream()
+                .filter(type -> type.getQualityValue() > 0)
+                .sorted(BY_QUALITY)
+                .map(BinaryMediaTypes::producible)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(MediaType.APPLICATION_JSON);
+    }
+
+    public static boolean isBinary(MediaType mediaType) {
+        return !MediaType.APPLICATION_JSON.equals(mediaType);
+    }
+
+    private static MediaType producible(MediaType accepted) {
+        if (accepted.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return MediaType.APPLICATION_JSON;
+        }
+        for (var type : ALL) {
+            if (type.equalsTypeAndSubtype(accepted)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
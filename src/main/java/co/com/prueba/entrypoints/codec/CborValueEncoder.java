@@ -0,0 +1,25 @@
+package co.com.prueba.entrypoints.codec;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * {@link Jackson2CborEncoder} rechaza {@code encode} aun cuando el cuerpo es un unico valor (el caso de
+ * {@code BodyInserters.fromValue}); aqui cada elemento se codifica con {@code encodeValue}, y varios
+ * elementos quedan como una secuencia CBOR (RFC 8742).
+ */
+public class CborValueEncoder extends Jackson2CborEncoder {
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+    }
+}
@@ -0,0 +1,85 @@
+package co.com.prueba.entrypoints.codec;
+
+import co.com.prueba.model.user.CustomExceptionE;
+import co.com.prueba.model.user.UserResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Escribe {@link UserResponse} y {@link CustomExceptionE} en formato de cable Protobuf segun
+ * {@code proto/user.proto}, sin clases generadas: cada campo es un string (tipo 2, longitud delimitada)
+ * y los nulos o vacios se omiten como en proto3.
+ */
+public class ProtobufResponseEncoder extends AbstractEncoder<Object> {
+
+    private static final int LENGTH_DELIMITED = 2;
+
+    public ProtobufResponseEncoder() {
+        super(BinaryMediaTypes.PROTOBUF, BinaryMediaTypes.PROTOBUF_STANDARD);
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        var type = elementType.toClass();
+        return (UserResponse.class.isAssignableFrom(type) || CustomExceptionE.class.isAssignableFrom(type))
+                && mimeType != null && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        return bufferFactory.wrap(encode(value));
+    }
+
+    public static byte[] encode(Object value) {
+        var out = new ByteArrayOutputStream(128);
+        if (value instanceof UserResponse user) {
+            writeString(out, 1, user.getFirstName());
+            writeString(out, 2, user.getSecondName());
+            writeString(out, 3, user.getFirstLastName());
+            writeString(out, 4, user.getSecondLastName());
+            writeString(out, 5, user.getPhone());
+            writeString(out, 6, user.getAddress());
+            writeString(out, 7, user.getResidenceCity());
+        } else if (value instanceof CustomExceptionE error) {
+            writeString(out, 1, error.getMessage());
+            writeString(out, 2, error.getStatus());
+        } else {
+            throw new IllegalArgumentException("Tipo no soportado en Protobuf: " + value.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeString(ByteArrayOutputStream out, int field, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, (field << 3) | LENGTH_DELIMITED);
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
@@ -1,14 +1,25 @@
 package co.com.prueba.entrypoints.exception;
 
+import co.com.prueba.entrypoints.codec.BinaryMediaTypes;
+import co.com.prueba.model.exception.CustomAttribute;
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.CustomExceptionE;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.boot.autoconfigure.web.reactive.error.AbstractErrorWebExceptionHandler;
 import org.springframework.boot.web.error.ErrorAttributeOptions;
 import org.springframework.boot.web.reactive.error.ErrorAttributes;
 import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
 import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
@@ -16,17 +27,24 @@ import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
-import java.util.Optional;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.springframework.web.reactive.function.BodyInserters.fromValue;
 
 @Component
 public class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
+
+    private final ObjectMapper objectMapper;
+    private final Map<CustomException, byte[]> encodedErrors = new ConcurrentHashMap<>();
+
     public GlobalExceptionHandler(ErrorAttributes errorAttributes, WebProperties.Resources resources,
                                   ApplicationContext applicationContext, ServerCodecConfigurer codecConfigurer) {
         super(errorAttributes, resources, applicationContext);
         this.setMessageReaders(codecConfigurer.getReaders());
         this.setMessageWriters(codecConfigurer.getWriters());
+        this.objectMapper = jsonObjectMapper(codecConfigurer);
     }
 
     @Override
@@ -34,9 +52,77 @@ public class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
         return RouterFunctions.route(RequestPredicates.all(), this::customErrorResponse);
     }
 
+    /**
+     * Las excepciones compartidas ({@link CustomException#isShared()}) son constantes, asi que su
+     * cuerpo JSON se codifica una sola vez y se escribe sin pasar por los atributos de error. Si el
+     * cliente pide un formato binario, el error se escribe como {@link CustomExceptionE} con ese codec.
+     */
     private Mono<ServerResponse> customErrorResponse(ServerRequest request) {
+        var mediaType = BinaryMediaTypes.select(request.headers().accept());
+        if (BinaryMediaTypes.isBinary(mediaType)) {
+            return binaryErrorResponse(request, mediaType);
+        }
+        if (getError(request) instanceof CustomException customException && customException.isShared()) {
+            var body = encodedErrors.computeIfAbsent(customException, this::encode);
+            return ServerResponse.status(customException.getStatus())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .contentLength(body.length)
+                    .body((message, context) -> message.writeWith(Mono.fromSupplier(() -> message.bufferFactory().wrap(body))));
+        }
         var errorMap = this.getErrorAttributes(request, ErrorAttributeOptions.defaults());
-        HttpStatus status = (HttpStatus) Optional.ofNullable(errorMap.get("status")).orElse(HttpStatus.INTERNAL_SERVER_ERROR);
+        var status = status(request, errorMap);
         return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).body(fromValue(errorMap));
     }
+
+    private Mono<ServerResponse> binaryErrorResponse(ServerRequest request, MediaType mediaType) {
+        HttpStatus status;
+        String message;
+        if (getError(request) instanceof CustomException customException) {
+            status = customException.getStatus();
+            message = customException.getMessage();
+        } else {
+            var errorMap = this.getErrorAttributes(request, ErrorAttributeOptions.defaults());
+            status = status(request, errorMap);
+            message = (String) errorMap.get("message");
+        }
+        return ServerResponse.status(status)
+                .contentType(mediaType)
+                .body(fromValue(new CustomExceptionE(message, status.name())));
+    }
+
+    /**
+     * {@link CustomAttribute} publica el status como {@link HttpStatus} y {@code DefaultErrorAttributes} como
+     * entero; sin status se usa el de la excepcion si lo trae, o 500.
+     */
+    private HttpStatus status(ServerRequest request, Map<String, Object> errorMap) {
+        var status = errorMap.get("status");
+        if (status instanceof HttpStatusCode code) {
+            return HttpStatus.valueOf(code.value());
+        }
+        if (status instanceof Integer code) {
+            return HttpStatus.valueOf(code);
+        }
+        if (getError(request) instanceof ErrorResponse errorResponse) {
+            return HttpStatus.valueOf(errorResponse.getStatusCode().value());
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    private byte[] encode(CustomException customException) {
+        try {
+            return objectMapper.writeValueAsBytes(CustomAttribute.attributesOf(customException));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ObjectMapper jsonObjectMapper(ServerCodecConfigurer codecConfigurer) {
+        return codecConfigurer.getWriters().stream()
+                .filter(EncoderHttpMessageWriter.class::isInstance)
+                .map(writer -> ((EncoderHttpMessageWriter<?>) writer).getEncoder())
+                .filter(Jackson2JsonEncoder.class::isInstance)
+                .map(encoder -> ((Jackson2JsonEncoder) encoder).getObjectMapper())
+                .findFirst()
+                .orElseGet(() -> Jackson2ObjectMapperBuilder.json().build());
+    }
 }
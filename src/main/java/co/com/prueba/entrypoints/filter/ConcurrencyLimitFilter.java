@@ -0,0 +1,116 @@
+package co.com.prueba.entrypoints.filter;
+
+import co.com.prueba.model.exception.CustomAttribute;
+import co.com.prueba.model.exception.CustomException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limita las solicitudes concurrentes a GET {@value #PATH} con un {@link VegasLimit}. La latencia de cada
+ * solicitud (incluida la escritura de la respuesta) ajusta el limite; lo que lo excede se rechaza de
+ * inmediato con 503 y Retry-After en lugar de encolarse.
+ */
+@Component
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitFilter implements WebFilter {
+
+    public static final String PATH = "/api/v1/user";
+    public static final String SERVICE_UNAVAILABLE = "El servicio esta saturado, intenta de nuevo.";
+    public static final CustomException SERVICE_UNAVAILABLE_ERROR =
+            CustomException.shared(HttpStatus.SERVICE_UNAVAILABLE, SERVICE_UNAVAILABLE);
+
+    private final boolean enabled;
+    private final VegasLimit limit;
+    private final String retryAfter;
+    private final byte[] rejectionBody;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private Counter rejections;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.limit = new VegasLimit(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                properties.getSmoothing(), properties.getProbeInterval());
+        this.retryAfter = String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds()));
+        this.rejectionBody = encode(objectMapper, SERVICE_UNAVAILABLE_ERROR);
+        meterRegistry.ifAvailable(this::bindTo);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var request = exchange.getRequest();
+        if (!enabled || request.getMethod() != HttpMethod.GET || !PATH.equals(request.getPath().value())) {
+            return chain.filter(exchange);
+        }
+        int current = inFlight.incrementAndGet();
+        if (current > limit.getLimit()) {
+            inFlight.decrementAndGet();
+            if (rejections != null) {
+                rejections.increment();
+            }
+            return reject(exchange);
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    inFlight.decrementAndGet();
+                    if (signal != SignalType.CANCEL) {
+                        limit.onSample(System.nanoTime() - start, current, signal == SignalType.ON_ERROR
+                                || exchange.getResponse().getStatusCode() != null
+                                && exchange.getResponse().getStatusCode().is5xxServerError());
+                    }
+                });
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void bindTo(MeterRegistry registry) {
+        Gauge.builder("user.concurrency.limit", limit, VegasLimit::getLimit).register(registry);
+        Gauge.builder("user.concurrency.in.flight", inFlight, AtomicInteger::get).register(registry);
+        rejections = Counter.builder("user.concurrency.rejections")
+                .description("Solicitudes rechazadas con 503 por superar el limite de concurrencia")
+                .register(registry);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange) {
+        var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        var headers = response.getHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(rejectionBody.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(rejectionBody)));
+    }
+
+    private static byte[] encode(ObjectMapper objectMapper, CustomException error) {
+        try {
+            return objectMapper.writeValueAsBytes(CustomAttribute.attributesOf(error));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package co.com.prueba.entrypoints.filter;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "entrypoints.user.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+    private int initialLimit = 64;
+    private int minLimit = 8;
+    private int maxLimit = 1000;
+    private double smoothing = 1.0;
+    private int probeInterval = 1000;
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
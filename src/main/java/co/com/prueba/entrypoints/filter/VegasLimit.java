@@ -0,0 +1,84 @@
+package co.com.prueba.entrypoints.filter;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concurrencia estilo TCP Vegas. Compara la latencia de cada solicitud con la minima observada
+ * (sin cola) para estimar cuantas solicitudes estan esperando: con poca cola el limite crece, con mucha
+ * decrece, y un error inesperado lo reduce. Cada {@code probeInterval} muestras la latencia minima se
+ * vuelve a medir para seguir cambios del backend. Si otra muestra esta actualizando el limite, la
+ * muestra se descarta en lugar de esperar.
+ */
+public class VegasLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final int probeInterval;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limit;
+    private long minRtt;
+    private int samplesToProbe;
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, int probeInterval) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limites de concurrencia invalidos: inicial " + initialLimit
+                    + ", minimo " + minLimit + ", maximo " + maxLimit);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.probeInterval = probeInterval;
+        this.samplesToProbe = probeInterval;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (rttNanos <= 0 || !lock.tryLock()) {
+            return;
+        }
+        try {
+            update(rttNanos, inFlight, dropped);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rtt, int inFlight, boolean dropped) {
+        double current = limit;
+        if (--samplesToProbe <= 0) {
+            samplesToProbe = probeInterval;
+            minRtt = rtt;
+            return;
+        }
+        if (minRtt == 0 || rtt < minRtt) {
+            minRtt = rtt;
+            return;
+        }
+        double log = Math.max(1, Math.log10(current));
+        double next;
+        if (dropped) {
+            next = current - log;
+        } else if (inFlight * 2 < current) {
+            // Sin carga suficiente la latencia no dice nada del limite
+            return;
+        } else {
+            double queue = Math.ceil(current * (1 - (double) minRtt / rtt));
+            if (queue <= log) {
+                next = current + 6 * log;
+            } else if (queue < 3 * log) {
+                next = current + log;
+            } else if (queue > 6 * log) {
+                next = current - log;
+            } else {
+                return;
+            }
+        }
+        next = Math.min(maxLimit, Math.max(minLimit, next));
+        limit = (1 - smoothing) * current + smoothing * next;
+    }
+}
@@ -0,0 +1,76 @@
+package co.com.prueba.entrypoints.handler;
+
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.VersionedUser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+
+/**
+ * JSON ya codificado de cada usuario, con el mismo {@link ObjectMapper} que usa el codec de WebFlux
+ * para que el cuerpo sea identico byte a byte. La llave es el {@link UserKey} de la solicitud y la
+ * entrada guarda la version con la que se codifico: sirve con cualquier repositorio, aunque devuelva
+ * una instancia nueva en cada consulta, y si el usuario cambia se vuelve a codificar.
+ */
+@Component
+public class EncodedResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<Long, EncodedUser> cache;
+
+    public EncodedResponseCache(ObjectMapper objectMapper,
+                                @Value("${entrypoints.user.pre-encoded.enabled:false}") boolean enabled,
+                                @Value("${entrypoints.user.pre-encoded.maximum-size:100000}") long maximumSize) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public byte[] encode(UserRequest request, VersionedUser versioned) {
+        long key = UserKey.encode(request);
+        if (key == UserKey.INVALID) {
+            return serialize(versioned.user());
+        }
+        var cached = cache.getIfPresent(key);
+        if (cached != null && cached.version().equals(versioned.version())) {
+            return cached.body();
+        }
+        var body = serialize(versioned.user());
+        cache.put(key, new EncodedUser(versioned.version(), body));
+        return body;
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    private byte[] serialize(UserResponse userResponse) {
+        try {
+            return objectMapper.writeValueAsBytes(userResponse);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record EncodedUser(String version, byte[] body) {
+    }
+}
@@ -1,33 +1,122 @@
 package co.com.prueba.entrypoints.handler;
 
+import co.com.prueba.adapter.metrics.StageMetrics;
+import co.com.prueba.entrypoints.codec.BinaryMediaTypes;
+import co.com.prueba.model.user.UserLookupResult;
 import co.com.prueba.model.user.UserRequest;
 import co.com.prueba.usecase.UserUseCase;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 import static org.springframework.web.reactive.function.BodyInserters.fromValue;
 
 @Component
-@RequiredArgsConstructor
 public class UserHandler {
     public static final String DOCUMENT_TYPE = "documentType";
     public static final String DOCUMENT_NUMBER = "documentNumber";
+    public static final String HANDLER_STAGE = "handler";
+    public static final String USE_CASE_STAGE = "usecase";
     private final UserUseCase userUseCase;
+    private final EncodedResponseCache encodedResponses;
+    private final StageMetrics handlerMetrics;
+    private final StageMetrics useCaseMetrics;
+
+    public UserHandler(UserUseCase userUseCase, EncodedResponseCache encodedResponses, MeterRegistry meterRegistry) {
+        this.userUseCase = userUseCase;
+        this.encodedResponses = encodedResponses;
+        this.handlerMetrics = new StageMetrics(meterRegistry, HANDLER_STAGE);
+        this.useCaseMetrics = new StageMetrics(meterRegistry, USE_CASE_STAGE);
+    }
 
+    /**
+     * La etapa handler incluye la lectura de parametros, el caso de uso y la codificacion del cuerpo
+     * cuando esta precodificado; la escritura en el socket queda en http.server.requests. Con
+     * If-None-Match el usuario se consulta una sola vez y, si su version coincide, se responde 304 sin cuerpo;
+     * con la cache de usuarios habilitada la version sale de la entrada y no se consulta el backend.
+     */
     public Mono<ServerResponse> findByUsername(ServerRequest request){
-        var documentType = request.queryParam(DOCUMENT_TYPE).orElse("");
-        var documentNumber = request.queryParam(DOCUMENT_NUMBER).orElse("");
-        var userRequest = new UserRequest(documentType, documentNumber);
-        return userUseCase.findUserByDocument(userRequest)
-                .flatMap(userRequestModel -> ServerResponse
-                        .ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(fromValue(userRequestModel))
-                );
+        return handlerMetrics.record(() -> {
+            var queryParams = request.queryParams();
+            var userRequest = new UserRequest(valueOrEmpty(queryParams.getFirst(DOCUMENT_TYPE)),
+                    valueOrEmpty(queryParams.getFirst(DOCUMENT_NUMBER)));
+            var ifNoneMatch = request.headers().header(HttpHeaders.IF_NONE_MATCH);
+            var mediaType = BinaryMediaTypes.select(request.headers().accept());
+            return findUser(userRequest, ifNoneMatch, mediaType);
+        });
+    }
+
+    public Mono<ServerResponse> findByUsernames(ServerRequest request){
+        var results = userUseCase.findUsersByDocument(request.bodyToFlux(UserRequest.class));
+        return ServerResponse
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(results, UserLookupResult.class);
+    }
+
+    /**
+     * El JSON precodificado solo aplica cuando la respuesta es JSON; CBOR, Smile y Protobuf los escriben
+     * los codecs registrados en {@code ApplicationConfig}. El ETag es el mismo en todos los formatos.
+     */
+    private Mono<ServerResponse> findUser(UserRequest userRequest, List<String> ifNoneMatch, MediaType mediaType) {
+        return useCaseMetrics.record(() -> userUseCase.findVersionedUserByDocument(userRequest))
+                .flatMap(versioned -> {
+                    var userRequestModel = versioned.user();
+                    var version = versioned.version();
+                    if (!ifNoneMatch.isEmpty() && matches(ifNoneMatch, version)) {
+                        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(version).build();
+                    }
+                    return encodedResponses.isEnabled() && !BinaryMediaTypes.isBinary(mediaType)
+                            ? writeEncoded(encodedResponses.encode(userRequest, versioned), version)
+                            : ServerResponse
+                            .ok()
+                            .contentType(mediaType)
+                            .eTag(version)
+                            .body(fromValue(userRequestModel));
+                });
+    }
+
+    /**
+     * Compara la version con los valores de If-None-Match ({@code *}, o ETags separados por comas y
+     * opcionalmente debiles, como exige la comparacion debil de RFC 9110).
+     */
+    static boolean matches(List<String> ifNoneMatch, String version) {
+        for (var header : ifNoneMatch) {
+            for (var tag : header.split(",")) {
+                var value = tag.trim();
+                if (value.equals("*")) {
+                    return true;
+                }
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                if (value.length() == version.length() + 2 && value.charAt(0) == '"'
+                        && value.regionMatches(1, version, 0, version.length())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Mono<ServerResponse> writeEncoded(byte[] body, String version) {
+        return ServerResponse
+                .ok()
+                .eTag(version)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .body((message, context) -> message.writeWith(Mono.fromSupplier(() -> message.bufferFactory().wrap(body))));
+    }
+
+    private static String valueOrEmpty(String value) {
+        return value == null ? "" : value;
     }
 
 }
@@ -0,0 +1,45 @@
+package co.com.prueba.entrypoints.router;
+
+import co.com.prueba.config.OpenApiConfig;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Sirve el documento OpenAPI generado al compilar (perfil Maven {@code prod}) cuando springdoc no esta en
+ * el classpath.
+ */
+@Log4j2
+@Configuration
+@ConditionalOnMissingClass(OpenApiConfig.SPRINGDOC_CONFIGURATION)
+public class OpenApiDocumentRouter {
+
+    public static final String DOCUMENT = "openapi/openapi.json";
+    public static final String DOCUMENT_MISSING = "No existe {} en el classpath, {} no estara disponible";
+
+    @Bean
+    public RouterFunction<ServerResponse> routerFunctionOpenApi(
+            @Value("${springdoc.api-docs.path:/swagger-doc/v3/api-docs}") String path) {
+        return routerFunctionOpenApi(path, new ClassPathResource(DOCUMENT));
+    }
+
+    RouterFunction<ServerResponse> routerFunctionOpenApi(String path, Resource document) {
+        if (!document.exists()) {
+            log.warn(DOCUMENT_MISSING, DOCUMENT, path);
+            return request -> Mono.empty();
+        }
+        return route()
+                .GET(path, request -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(document))
+                .build();
+    }
+}
@@ -2,20 +2,28 @@ package co.com.prueba.entrypoints.router;
 
 import co.com.prueba.entrypoints.handler.UserHandler;
 import co.com.prueba.model.user.CustomExceptionE;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
 import co.com.prueba.model.user.UserResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springdoc.core.annotations.RouterOperation;
+import org.springdoc.core.annotations.RouterOperations;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
-import static org.springdoc.core.fn.builders.apiresponse.Builder.responseBuilder;
-import static org.springdoc.core.fn.builders.content.Builder.contentBuilder;
-import static org.springdoc.core.fn.builders.parameter.Builder.parameterBuilder;
-import static org.springdoc.core.fn.builders.schema.Builder.schemaBuilder;
-import static org.springdoc.webflux.core.fn.SpringdocRouteBuilder.route;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
 
 @Component
 @Configuration
@@ -24,22 +32,69 @@ public class UserRouter {
 
     public static final String MESSAGE_200 = "Entrega la información del usuario";
     public static final String MESSAGE_404 = "No existe el usuario";
+    public static final String MESSAGE_BATCH_200 =
+            "Entrega un resultado por documento (FOUND, NOT_FOUND o BAD_REQUEST) en formato NDJSON";
+    public static final String MESSAGE_BATCH_BODY = "Documentos a consultar, en NDJSON o como arreglo JSON";
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final String PROTOBUF_VALUE = "application/x-protobuf";
 
+    /**
+     * La documentacion OpenAPI se declara con anotaciones: sin springdoc en el classpath (perfil Maven
+     * {@code prod}) se ignoran y las rutas no dependen de el. Los formatos binarios se eligen con Accept
+     * y el esquema Protobuf esta en {@code proto/user.proto}.
+     */
     @Bean
+    @RouterOperations({
+            @RouterOperation(path = "/api/v1/user", method = RequestMethod.GET,
+                    beanClass = UserHandler.class, beanMethod = "findByUsername",
+                    operation = @Operation(operationId = "hello",
+                            parameters = {
+                                    @Parameter(name = "documentType", in = ParameterIn.QUERY,
+                                            description = "Tipo de documento [P - C]",
+                                            schema = @Schema(type = "string")),
+                                    @Parameter(name = "documentNumber", in = ParameterIn.QUERY,
+                                            description = "número de documento",
+                                            schema = @Schema(type = "string"))
+                            },
+                            responses = {
+                                    @ApiResponse(responseCode = "200 OK", description = MESSAGE_200, content = {
+                                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                                    schema = @Schema(implementation = UserResponse.class)),
+                                            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                                                    schema = @Schema(implementation = UserResponse.class)),
+                                            @Content(mediaType = SMILE_VALUE,
+                                                    schema = @Schema(implementation = UserResponse.class)),
+                                            @Content(mediaType = PROTOBUF_VALUE,
+                                                    schema = @Schema(implementation = UserResponse.class))
+                                    }),
+                                    @ApiResponse(responseCode = "404 NOT_FOUND", description = MESSAGE_404, content = {
+                                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                                    schema = @Schema(implementation = CustomExceptionE.class)),
+                                            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                                                    schema = @Schema(implementation = CustomExceptionE.class)),
+                                            @Content(mediaType = SMILE_VALUE,
+                                                    schema = @Schema(implementation = CustomExceptionE.class)),
+                                            @Content(mediaType = PROTOBUF_VALUE,
+                                                    schema = @Schema(implementation = CustomExceptionE.class))
+                                    })
+                            })),
+            @RouterOperation(path = "/api/v1/users:batch", method = RequestMethod.POST,
+                    beanClass = UserHandler.class, beanMethod = "findByUsernames",
+                    operation = @Operation(operationId = "findUsersBatch",
+                            requestBody = @RequestBody(description = MESSAGE_BATCH_BODY, content = {
+                                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                            schema = @Schema(implementation = UserRequest.class)),
+                                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            array = @ArraySchema(schema = @Schema(implementation = UserRequest.class)))
+                            }),
+                            responses = @ApiResponse(responseCode = "200 OK", description = MESSAGE_BATCH_200,
+                                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                            schema = @Schema(implementation = UserLookupResult.class)))))
+    })
     public RouterFunction<ServerResponse> routerFunctionUser(UserHandler handler) {
-        return route().GET("/api/v1/user", handler::findByUsername, ops -> ops
-                .operationId("hello")
-                .parameter(parameterBuilder().name("documentType").description("Tipo de documento [P - C]"))
-                .parameter(parameterBuilder().name("documentNumber").description("número de documento"))
-                .response(responseBuilder().description(MESSAGE_200).responseCode(HttpStatus.OK.toString())
-                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
-                                .schema(schemaBuilder().implementation(UserResponse.class))))
-                .response(responseBuilder().description(MESSAGE_404).responseCode(HttpStatus.NOT_FOUND.toString())
-                        .content(contentBuilder().mediaType(MediaType.APPLICATION_JSON_VALUE)
-                                .schema(schemaBuilder().implementation(CustomExceptionE.class))))
-        ).build();
+        return route()
+                .GET("/api/v1/user", handler::findByUsername)
+                .POST("/api/v1/users:batch", handler::findByUsernames)
+                .build();
     }
-
-
-
 }
@@ -0,0 +1,52 @@
+package co.com.prueba.entrypoints.rsocket;
+
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.usecase.UserUseCase;
+import io.rsocket.exceptions.ApplicationErrorException;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de usuario por RSocket con los mismos beans que las rutas HTTP: {@link #FIND_USER} es
+ * request-response y {@link #FIND_USERS} es request-channel, donde la demanda del cliente llega hasta
+ * el repositorio y la lectura de solicitudes respeta la demanda del servidor.
+ */
+@Controller
+public class UserRSocketController {
+
+    public static final String FIND_USER = "user.find";
+    public static final String FIND_USERS = "users.find";
+    public static final String ERROR_FORMAT = "%s: %s";
+
+    private final UserUseCase userUseCase;
+
+    public UserRSocketController(UserUseCase userUseCase) {
+        this.userUseCase = userUseCase;
+    }
+
+    @MessageMapping(FIND_USER)
+    public Mono<UserResponse> findUser(UserRequest request) {
+        return userUseCase.findUserByDocument(request);
+    }
+
+    @MessageMapping(FIND_USERS)
+    public Flux<UserLookupResult> findUsers(Flux<UserRequest> requests) {
+        return userUseCase.findUsersByDocument(requests);
+    }
+
+    /**
+     * RSocket solo transporta un mensaje de error, asi que el estado HTTP equivalente va como prefijo
+     * (p. ej. {@code NOT_FOUND: No existe el usuario.}) para que el cliente distinga 400 de 404.
+     */
+    @MessageExceptionHandler(CustomException.class)
+    public Mono<Void> handleCustomException(CustomException exception) {
+        return Mono.error(new ApplicationErrorException(
+                ERROR_FORMAT.formatted(exception.getStatus().name(), exception.getMessage())));
+    }
+}
@@ -13,12 +13,17 @@ public class CustomAttribute extends DefaultErrorAttributes {
 
     @Override
     public Map<String, Object> getErrorAttributes(ServerRequest request, ErrorAttributeOptions options) {
-        Map<String, Object> errorAttributes = new HashMap<>();
         Throwable throwable = super.getError(request);
         if(throwable instanceof CustomException customException) {
-            errorAttributes.put("status", customException.getStatus());
-            errorAttributes.put("message", customException.getMessage());
+            return attributesOf(customException);
         }
+        return new HashMap<>();
+    }
+
+    public static Map<String, Object> attributesOf(CustomException customException) {
+        Map<String, Object> errorAttributes = new HashMap<>();
+        errorAttributes.put("status", customException.getStatus());
+        errorAttributes.put("message", customException.getMessage());
         return errorAttributes;
     }
 }
@@ -5,13 +5,32 @@ import org.springframework.http.HttpStatus;
 
 public class CustomException extends Exception{
     private HttpStatus status;
+    private boolean shared;
 
     public CustomException(HttpStatus status, String message) {
         super(message);
         this.status = status;
     }
 
+    private CustomException(HttpStatus status, String message, boolean shared) {
+        super(message, null, false, false);
+        this.status = status;
+        this.shared = shared;
+    }
+
+    /**
+     * Instancia sin stack trace ni excepciones suprimidas, pensada para guardarse en una constante
+     * y emitirse en cada solicitud de los caminos frecuentes (404, 400).
+     */
+    public static CustomException shared(HttpStatus status, String message) {
+        return new CustomException(status, message, true);
+    }
+
     public HttpStatus getStatus() {
         return status;
     }
+
+    public boolean isShared() {
+        return shared;
+    }
 }
@@ -3,12 +3,59 @@ package co.com.prueba.model.user;
 
 import lombok.AllArgsConstructor;
 
+/**
+ * Tipos de documento soportados y reglas del numero de documento:
+ * <ul>
+ *     <li>C (cedula de ciudadania): solo digitos, entre 3 y 10 caracteres.</li>
+ *     <li>P (pasaporte): letras ASCII o digitos, entre 4 y 11 caracteres.</li>
+ * </ul>
+ */
 @AllArgsConstructor
 public enum DocumentType {
-    P("P", "PASAPORTE"),
-    C("C","CEDULA DE CIUDADANIA");
+    P("P", "PASAPORTE", 4, 11, true),
+    C("C","CEDULA DE CIUDADANIA", 3, 10, false);
+
+    private static final DocumentType[] BY_CODE = new DocumentType[128];
+
+    static {
+        for (DocumentType type : values()) {
+            char code = type.documentType.charAt(0);
+            BY_CODE[Character.toUpperCase(code)] = type;
+            BY_CODE[Character.toLowerCase(code)] = type;
+        }
+    }
 
     private String documentType;
     private String description;
+    private int minLength;
+    private int maxLength;
+    private boolean alphanumeric;
+
+    public static DocumentType fromCode(String code) {
+        if (code == null || code.length() != 1) {
+            return null;
+        }
+        char value = code.charAt(0);
+        return value < BY_CODE.length ? BY_CODE[value] : null;
+    }
+
+    public boolean isValidNumber(String documentNumber) {
+        if (documentNumber == null) {
+            return false;
+        }
+        int length = documentNumber.length();
+        if (length < minLength || length > maxLength) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char value = documentNumber.charAt(i);
+            boolean digit = value >= '0' && value <= '9';
+            boolean letter = (value >= 'A' && value <= 'Z') || (value >= 'a' && value <= 'z');
+            if (!digit && !(alphanumeric && letter)) {
+                return false;
+            }
+        }
+        return true;
+    }
 
 }
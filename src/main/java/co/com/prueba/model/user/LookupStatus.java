@@ -0,0 +1,7 @@
+package co.com.prueba.model.user;
+
+public enum LookupStatus {
+    FOUND,
+    NOT_FOUND,
+    BAD_REQUEST
+}
@@ -0,0 +1,80 @@
+package co.com.prueba.model.user;
+
+/**
+ * Codifica (documentType, documentNumber) en un unico {@code long}.
+ * Los 6 bits altos guardan el tipo de documento (ordinal + 1) y los 58 bits
+ * bajos el numero de documento en base 37 (0 = sin caracter, 1-10 digitos,
+ * 11-36 letras), hasta {@link #MAX_DOCUMENT_NUMBER_LENGTH} caracteres.
+ * Una llave valida nunca es {@link #INVALID}.
+ */
+public final class UserKey {
+
+    public static final long INVALID = 0L;
+    public static final int MAX_DOCUMENT_NUMBER_LENGTH = 11;
+
+    private static final int TYPE_SHIFT = 58;
+    private static final int RADIX = 37;
+    private static final DocumentType[] DOCUMENT_TYPES = DocumentType.values();
+
+    private UserKey() {
+    }
+
+    public static long encode(UserRequest request) {
+        return encode(request.getDocumentType(), request.getDocumentNumber());
+    }
+
+    public static long encode(String documentType, String documentNumber) {
+        int type = typeCode(documentType);
+        if (type == 0 || documentNumber == null) {
+            return INVALID;
+        }
+        int length = documentNumber.length();
+        if (length == 0 || length > MAX_DOCUMENT_NUMBER_LENGTH) {
+            return INVALID;
+        }
+        long number = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = charCode(documentNumber.charAt(i));
+            if (digit == 0) {
+                return INVALID;
+            }
+            number = number * RADIX + digit;
+        }
+        return ((long) type << TYPE_SHIFT) | number;
+    }
+
+    public static DocumentType documentType(long key) {
+        int type = (int) (key >>> TYPE_SHIFT);
+        return type == 0 || type > DOCUMENT_TYPES.length ? null : DOCUMENT_TYPES[type - 1];
+    }
+
+    public static String documentNumber(long key) {
+        long number = key & ((1L << TYPE_SHIFT) - 1);
+        char[] chars = new char[MAX_DOCUMENT_NUMBER_LENGTH];
+        int position = chars.length;
+        while (number != 0) {
+            int digit = (int) (number % RADIX);
+            chars[--position] = digit <= 10 ? (char) ('0' + digit - 1) : (char) ('A' + digit - 11);
+            number /= RADIX;
+        }
+        return new String(chars, position, chars.length - position);
+    }
+
+    private static int typeCode(String documentType) {
+        var type = DocumentType.fromCode(documentType);
+        return type == null ? 0 : type.ordinal() + 1;
+    }
+
+    private static int charCode(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 1;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 11;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 11;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,33 @@
+package co.com.prueba.model.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLookupResult {
+    private String documentType;
+    private String documentNumber;
+    private LookupStatus status;
+    private String message;
+    private UserResponse user;
+
+    public static UserLookupResult found(UserRequest request, UserResponse user) {
+        return new UserLookupResult(request.getDocumentType(), request.getDocumentNumber(),
+                LookupStatus.FOUND, null, user);
+    }
+
+    public static UserLookupResult notFound(UserRequest request, String message) {
+        return new UserLookupResult(request.getDocumentType(), request.getDocumentNumber(),
+                LookupStatus.NOT_FOUND, message, null);
+    }
+
+    public static UserLookupResult badRequest(UserRequest request, String message) {
+        return new UserLookupResult(request.getDocumentType(), request.getDocumentNumber(),
+                LookupStatus.BAD_REQUEST, message, null);
+    }
+}
@@ -4,17 +4,15 @@ package co.com.prueba.model.user;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
+import lombok.extern.jackson.Jacksonized;
 
-@Setter
 @Getter
 @Builder
-@NoArgsConstructor
+@Jacksonized
 @AllArgsConstructor
 public class UserRequest {
 
-    private String documentType;
-    private String documentNumber;
+    private final String documentType;
+    private final String documentNumber;
 
 }
@@ -0,0 +1,45 @@
+package co.com.prueba.model.user;
+
+/**
+ * Version de un usuario: hash FNV-1a de 64 bits sobre sus campos, en hexadecimal. Solo depende del
+ * contenido, asi que es la misma en todas las instancias y pods y sirve como ETag fuerte.
+ */
+public final class UserVersion {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    private static final char SEPARATOR = '\u001f';
+    private static final char NULL = '\u0000';
+
+    private UserVersion() {
+    }
+
+    public static String of(UserResponse user) {
+        long hash = OFFSET_BASIS;
+        hash = hash(hash, user.getFirstName());
+        hash = hash(hash, user.getSecondName());
+        hash = hash(hash, user.getFirstLastName());
+        hash = hash(hash, user.getSecondLastName());
+        hash = hash(hash, user.getPhone());
+        hash = hash(hash, user.getAddress());
+        hash = hash(hash, user.getResidenceCity());
+        return Long.toHexString(hash);
+    }
+
+    private static long hash(long hash, String value) {
+        if (value == null) {
+            return mix(mix(hash, NULL), SEPARATOR);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = mix(hash, value.charAt(i));
+        }
+        return mix(hash, SEPARATOR);
+    }
+
+    private static long mix(long hash, char c) {
+        hash ^= c & 0xff;
+        hash *= PRIME;
+        hash ^= c >>> 8;
+        return hash * PRIME;
+    }
+}
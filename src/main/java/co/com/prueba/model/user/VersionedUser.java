@@ -0,0 +1,12 @@
+package co.com.prueba.model.user;
+
+/**
+ * Usuario con su {@link UserVersion}. Quien guarda la entrada (la cache de usuarios) calcula la version una
+ * sola vez al cargarla, asi que el ETag y las solicitudes condicionales no vuelven a recorrer los campos.
+ */
+public record VersionedUser(UserResponse user, String version) {
+
+    public static VersionedUser of(UserResponse user) {
+        return new VersionedUser(user, UserVersion.of(user));
+    }
+}
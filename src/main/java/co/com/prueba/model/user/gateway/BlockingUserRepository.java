@@ -0,0 +1,18 @@
+package co.com.prueba.model.user.gateway;
+
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+
+/**
+ * Back-end que solo ofrece un cliente bloqueante (JDBC, SOAP...). No se usa directamente desde los casos
+ * de uso: con {@code adapter.user.type=blocking} lo envuelve el adaptador que lo ejecuta fuera del event loop.
+ */
+@FunctionalInterface
+public interface BlockingUserRepository {
+
+    /**
+     * Puede bloquear el hilo que la invoca. Devuelve {@code null} si el usuario no existe; una
+     * {@link co.com.prueba.model.exception.CustomException} se propaga tal cual al cliente.
+     */
+    UserResponse findByUser(UserRequest request) throws Exception;
+}
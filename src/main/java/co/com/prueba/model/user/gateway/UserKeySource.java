@@ -0,0 +1,24 @@
+package co.com.prueba.model.user.gateway;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Adaptadores que pueden enumerar las llaves ({@link co.com.prueba.model.user.UserKey}) de los usuarios
+ * que guardan y avisar cuando se agrega uno nuevo. Lo usan los filtros que se construyen a partir
+ * del contenido del repositorio.
+ */
+public interface UserKeySource {
+
+    Mono<Long> userCount();
+
+    Flux<Long> userKeys();
+
+    /**
+     * Registra un listener que recibe la llave de cada usuario agregado despues del registro.
+     * Los repositorios de solo lectura no lo invocan nunca.
+     */
+    void addUserKeyListener(LongConsumer listener);
+}
@@ -1,10 +1,41 @@
 package co.com.prueba.model.user.gateway;
 
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.UserLookupResult;
 import co.com.prueba.model.user.UserRequest;
 import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.VersionedUser;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface UserRepository {
+    int BATCH_CONCURRENCY = 32;
+    String USER_NOT_FOUND = "No existe el usuario.";
+    CustomException USER_NOT_FOUND_ERROR = CustomException.shared(HttpStatus.NOT_FOUND, USER_NOT_FOUND);
+
     Mono<UserResponse> findByUser(UserRequest request);
 
+    /**
+     * El usuario con su version, para el ETag y las solicitudes condicionales. Por defecto la version se
+     * calcula sobre {@link #findByUser}; la cache la guarda con la entrada y responde sin consultar el backend.
+     */
+    default Mono<VersionedUser> findVersionedByUser(UserRequest request) {
+        return findByUser(request).map(VersionedUser::of);
+    }
+
+    /**
+     * Consulta varios documentos y emite un resultado por solicitud, en el mismo orden y respetando
+     * la demanda del suscriptor. Los adaptadores que soportan multi-get deben sobrescribirlo; por
+     * defecto se resuelve con {@link #findByUser} y a lo sumo {@link #BATCH_CONCURRENCY} consultas en curso.
+     */
+    default Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+        return requests.flatMapSequential(request -> findByUser(request)
+                .map(user -> UserLookupResult.found(request, user))
+                .onErrorResume(CustomException.class, exception -> exception.getStatus() == HttpStatus.NOT_FOUND
+                        ? Mono.just(UserLookupResult.notFound(request, exception.getMessage()))
+                        : Mono.error(exception))
+                .defaultIfEmpty(UserLookupResult.notFound(request, USER_NOT_FOUND)), BATCH_CONCURRENCY);
+    }
+
 }
@@ -2,43 +2,90 @@ package co.com.prueba.usecase;
 
 import co.com.prueba.model.exception.CustomException;
 import co.com.prueba.model.user.DocumentType;
+import co.com.prueba.model.user.UserLookupResult;
 import co.com.prueba.model.user.UserRequest;
 import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.VersionedUser;
 import co.com.prueba.model.user.gateway.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Arrays;
-
 
 @Log4j2
 @RequiredArgsConstructor
 public class UserUseCase {
     public static final String ERROR_MESSAGE_DOCUMENT_TYPE =
             "El valor del campo documentType`tiene que estar entre (C y P).";
+    public static final String ERROR_MESSAGE_DOCUMENT_NUMBER =
+            "El valor del campo documentNumber no es valido para el tipo de documento.";
     public static final String USER_SUCCESSFUL = "El usuario fue encontrado";
+    public static final String USER_NOT_FOUND = "No existe el usuario.";
+    public static final CustomException DOCUMENT_TYPE_ERROR =
+            CustomException.shared(HttpStatus.BAD_REQUEST, ERROR_MESSAGE_DOCUMENT_TYPE);
+    public static final CustomException DOCUMENT_NUMBER_ERROR =
+            CustomException.shared(HttpStatus.BAD_REQUEST, ERROR_MESSAGE_DOCUMENT_NUMBER);
     private final UserRepository userRepository;
+
+    /**
+     * La validacion se hace antes de armar el flujo reactivo: una solicitud invalida solo
+     * cuesta el {@link Mono#error} con una excepcion compartida y nunca llega al repositorio.
+     */
     public Mono<UserResponse> findUserByDocument(UserRequest request){
-        return Mono.just(request)
-                .filter(this::documentTypeValidate)
-                .doOnError(throwable -> log.error(ERROR_MESSAGE_DOCUMENT_TYPE))
-                .flatMap(userRepository::findByUser)
+        var error = validationException(request);
+        if (error != null) {
+            log.error(error.getMessage());
+            return Mono.error(error);
+        }
+        return userRepository.findByUser(request)
                 .doOnNext(userResponse -> log.info(USER_SUCCESSFUL))
-                .switchIfEmpty(Mono.defer(() -> {
-                    log.error(ERROR_MESSAGE_DOCUMENT_TYPE);
-                    return Mono.error(new CustomException(HttpStatus.BAD_REQUEST,ERROR_MESSAGE_DOCUMENT_TYPE));
-                }));
+                .switchIfEmpty(Mono.error(UserRepository.USER_NOT_FOUND_ERROR));
+    }
 
+    /**
+     * Igual que {@link #findUserByDocument}, con la version del usuario para el ETag.
+     */
+    public Mono<VersionedUser> findVersionedUserByDocument(UserRequest request) {
+        var error = validationException(request);
+        if (error != null) {
+            log.error(error.getMessage());
+            return Mono.error(error);
+        }
+        return userRepository.findVersionedByUser(request)
+                .doOnNext(versioned -> log.info(USER_SUCCESSFUL))
+                .switchIfEmpty(Mono.error(UserRepository.USER_NOT_FOUND_ERROR));
+    }
 
+    public Flux<UserLookupResult> findUsersByDocument(Flux<UserRequest> requests) {
+        return requests
+                .windowUntilChanged(request -> validationError(request) == null)
+                .concatMap(window -> window.switchOnFirst((first, group) -> first.hasValue()
+                        && validationError(first.get()) == null
+                        ? userRepository.findByUsers(group)
+                        : group.map(request -> UserLookupResult.badRequest(request, validationError(request)))));
     }
 
     public boolean documentTypeValidate(UserRequest request) {
-        var documentType = request.getDocumentType();
-        return Arrays.stream(DocumentType.values())
-                .map(Enum::name)
-                .anyMatch(colorName -> colorName.equalsIgnoreCase(documentType));
+        return DocumentType.fromCode(request.getDocumentType()) != null;
+    }
+
+    /**
+     * Devuelve el mensaje de error de la solicitud o {@code null} si el tipo de documento existe
+     * y el numero cumple las reglas de {@link DocumentType}. No reserva memoria.
+     */
+    public String validationError(UserRequest request) {
+        var error = validationException(request);
+        return error == null ? null : error.getMessage();
+    }
+
+    private static CustomException validationException(UserRequest request) {
+        var documentType = DocumentType.fromCode(request.getDocumentType());
+        if (documentType == null) {
+            return DOCUMENT_TYPE_ERROR;
+        }
+        return documentType.isValidNumber(request.getDocumentNumber()) ? null : DOCUMENT_NUMBER_ERROR;
     }
 
-}
\ No newline at end of file
+}
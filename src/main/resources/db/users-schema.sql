@@ -0,0 +1,14 @@
+-- Tabla que consulta el adaptador r2dbc. user_key es UserKey.encode(documentType, documentNumber):
+-- las consultas filtran por una sola columna BIGINT y las consultas por lote usan un IN de aridad fija.
+CREATE TABLE IF NOT EXISTS users (
+    user_key BIGINT PRIMARY KEY,
+    document_type VARCHAR(1) NOT NULL,
+    document_number VARCHAR(11) NOT NULL,
+    first_name VARCHAR(100),
+    second_name VARCHAR(100),
+    first_last_name VARCHAR(100),
+    second_last_name VARCHAR(100),
+    phone VARCHAR(20),
+    address VARCHAR(200),
+    residence_city VARCHAR(100)
+)
@@ -1,26 +1,48 @@
 package co.com.prueba;
 
+import co.com.prueba.entrypoints.codec.BinaryMediaTypes;
+import co.com.prueba.entrypoints.rsocket.UserRSocketController;
 import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.CustomExceptionE;
+import co.com.prueba.model.user.LookupStatus;
+import co.com.prueba.model.user.UserLookupResult;
 import co.com.prueba.model.user.UserRequest;
 import co.com.prueba.model.user.UserResponse;
 import co.com.prueba.model.user.gateway.UserRepository;
+import co.com.prueba.usecase.UserUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.protobuf.UnknownFieldSet;
+import io.rsocket.exceptions.ApplicationErrorException;
 import org.junit.Assert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.messaging.rsocket.RSocketRequester;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.rsocket.server.port=0")
 public class ApplicationTest {
     @MockBean
     private UserRepository userRepository;
@@ -28,6 +50,12 @@ public class ApplicationTest {
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private RSocketRequester.Builder rsocketRequesterBuilder;
+
+    @Value("${local.rsocket.server.port}")
+    private int rsocketPort;
+
     private UserResponse response;
     private UserRequest request;
 
@@ -47,6 +75,7 @@ public class ApplicationTest {
                 .address("Calle falsa 123")
                 .residenceCity("Bogota")
                 .build();
+        when(userRepository.findVersionedByUser(any())).thenCallRealMethod();
     }
 
     @Test
@@ -71,6 +100,27 @@ public class ApplicationTest {
                     Assert.assertEquals("Bogota", userResponse.getResidenceCity());
                 });
     }
+    @Test
+    public void testFindUserByDocument_NotModified() {
+        when(userRepository.findByUser(any())).thenReturn(Mono.just(response));
+
+        var etag = webTestClient.get()
+                .uri("/api/v1/user?documentType=C&documentNumber=23445322")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+        Assert.assertNotNull(etag);
+
+        webTestClient.get()
+                .uri("/api/v1/user?documentType=C&documentNumber=23445322")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody().isEmpty();
+    }
+
     @Test
     public void testFindNotUserByNotDocument() {
         webTestClient.get()
@@ -96,4 +146,187 @@ public class ApplicationTest {
                 .exchange()
                 .expectStatus().isNotFound();
     }
+
+    @Test
+    public void testFindNotUserByDocument_SharedErrorBody() {
+        when(userRepository.findByUser(argThat(req ->
+            "C".equals(req.getDocumentType()) && "54321".equals(req.getDocumentNumber())
+        ))).thenReturn(Mono.error(UserRepository.USER_NOT_FOUND_ERROR));
+
+        webTestClient.get()
+                .uri("/api/v1/user?documentType=C&documentNumber=54321")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("NOT_FOUND")
+                .jsonPath("$.message").isEqualTo(UserRepository.USER_NOT_FOUND);
+    }
+
+    @Test
+    public void testFindUserByDocument_Cbor() throws Exception {
+        when(userRepository.findByUser(any())).thenReturn(Mono.just(response));
+
+        var body = webTestClient.get()
+                .uri("/api/v1/user?documentType=C&documentNumber=23445322")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        var user = new ObjectMapper(new CBORFactory()).readValue(body, UserResponse.class);
+        Assert.assertEquals("Daniel", user.getFirstName());
+        Assert.assertEquals("Bogota", user.getResidenceCity());
+    }
+
+    @Test
+    public void testFindUserByDocument_Protobuf() throws Exception {
+        when(userRepository.findByUser(any())).thenReturn(Mono.just(response));
+
+        var body = webTestClient.get()
+                .uri("/api/v1/user?documentType=C&documentNumber=23445322")
+                .accept(BinaryMediaTypes.PROTOBUF)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(BinaryMediaTypes.PROTOBUF)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        var fields = UnknownFieldSet.parseFrom(body);
+        Assert.assertEquals("Daniel", fields.getField(1).getLengthDelimitedList().get(0).toStringUtf8());
+    }
+
+    @Test
+    public void testFindUserByNotDocument_SmileError() throws Exception {
+        var body = webTestClient.get()
+                .uri("/api/v1/user?documentType=A&documentNumber=12345")
+                .accept(BinaryMediaTypes.SMILE)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(BinaryMediaTypes.SMILE)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        var error = new ObjectMapper(new SmileFactory()).readValue(body, CustomExceptionE.class);
+        Assert.assertEquals("BAD_REQUEST", error.getStatus());
+    }
+
+    @Test
+    public void testPrometheusExposesStageMetrics() {
+        webTestClient.get()
+                .uri("/api/v1/user?documentType=A&documentNumber=2344532")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> {
+                    Assert.assertTrue(body.lines().anyMatch(line -> line.startsWith("user_lookup_seconds_count{")
+                            && line.contains("outcome=\"bad-request\"") && line.contains("stage=\"usecase\"")
+                            && !line.endsWith(" 0.0")));
+                    Assert.assertTrue(body.lines().anyMatch(line -> line.startsWith("user_lookup_in_flight{")
+                            && line.contains("stage=\"handler\"")));
+                });
+    }
+
+    @Test
+    public void testFindUsersBatch() {
+        when(userRepository.findByUsers(any())).thenAnswer(invocation -> {
+            Flux<UserRequest> requests = invocation.getArgument(0);
+            return requests.map(req -> "23445322".equals(req.getDocumentNumber())
+                    ? UserLookupResult.found(req, response)
+                    : UserLookupResult.notFound(req, "No existe el usuario."));
+        });
+
+        webTestClient.post()
+                .uri("/api/v1/users:batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("""
+                        {"documentType":"C","documentNumber":"23445322"}
+                        {"documentType":"A","documentNumber":"1"}
+                        {"documentType":"P","documentNumber":"12345"}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(UserLookupResult.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .assertNext(result -> {
+                    Assert.assertEquals(LookupStatus.FOUND, result.getStatus());
+                    Assert.assertEquals("Daniel", result.getUser().getFirstName());
+                })
+                .assertNext(result -> Assert.assertEquals(LookupStatus.BAD_REQUEST, result.getStatus()))
+                .assertNext(result -> Assert.assertEquals(LookupStatus.NOT_FOUND, result.getStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testFindUserOverRSocket() {
+        when(userRepository.findByUser(any())).thenReturn(Mono.just(response));
+
+        rsocketRequester().route(UserRSocketController.FIND_USER)
+                .data(request)
+                .retrieveMono(UserResponse.class)
+                .as(StepVerifier::create)
+                .assertNext(user -> Assert.assertEquals("Daniel", user.getFirstName()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testFindUserOverRSocket_ErrorCarriesStatus() {
+        rsocketRequester().route(UserRSocketController.FIND_USER)
+                .data(new UserRequest("A", "12345"))
+                .retrieveMono(UserResponse.class)
+                .as(StepVerifier::create)
+                .verifyErrorMatches(error -> error instanceof ApplicationErrorException
+                        && error.getMessage().equals("BAD_REQUEST: " + UserUseCase.ERROR_MESSAGE_DOCUMENT_TYPE));
+    }
+
+    @Test
+    public void testFindUsersOverRSocketChannel_RespectsDemand() throws InterruptedException {
+        when(userRepository.findByUser(any())).thenReturn(Mono.just(response));
+        when(userRepository.findByUsers(any())).thenCallRealMethod();
+        var total = 10_000;
+        var emitted = new AtomicInteger();
+        var requests = Flux.range(0, total)
+                .map(i -> new UserRequest("C", String.valueOf(10_000_000 + i)))
+                .doOnNext(ignored -> emitted.incrementAndGet());
+
+        StepVerifier.create(rsocketRequester().route(UserRSocketController.FIND_USERS)
+                        .data(requests)
+                        .retrieveFlux(UserLookupResult.class), 5)
+                .expectNextCount(5)
+                .then(() -> sleep(Duration.ofMillis(300)))
+                .then(() -> Assert.assertTrue("solicitudes emitidas: " + emitted.get(), emitted.get() < total))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(total - 5)
+                .verifyComplete();
+    }
+
+    private RSocketRequester rsocketRequester() {
+        return rsocketRequesterBuilder.tcp("localhost", rsocketPort);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void testFindUserByMalformedDocumentNumber() {
+        webTestClient.get()
+                .uri("/api/v1/user?documentType=C&documentNumber=23-445")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
 }
@@ -0,0 +1,30 @@
+package co.com.prueba;
+
+import co.com.prueba.adapter.UserServiceAdapter;
+import co.com.prueba.usecase.UserUseCase;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.filter.BurstFilter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggingConfigurationTest {
+
+    @Test
+    void testLoggersAreAsynchronous() {
+        assertInstanceOf(AsyncLoggerContext.class, LogManager.getContext(false));
+    }
+
+    @Test
+    void testHotPathLoggersAreRateLimited() {
+        var configuration = ((LoggerContext) LogManager.getContext(false)).getConfiguration();
+
+        for (Class<?> hotPath : new Class<?>[]{UserUseCase.class, UserServiceAdapter.class}) {
+            var loggerConfig = configuration.getLoggerConfig(hotPath.getName());
+            assertEquals(hotPath.getName(), loggerConfig.getName());
+            assertInstanceOf(BurstFilter.class, loggerConfig.getFilter());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package co.com.prueba.adapter;
 
 import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.UserKey;
 import co.com.prueba.model.user.UserRequest;
 import co.com.prueba.model.user.UserResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -79,4 +80,12 @@ class UserServiceAdapterTest {
                     return true;
                 });
     }
+
+    @Test
+    void testUserKeys_SingleStubUser() {
+        StepVerifier.create(userServiceAdapter.userKeys())
+                .expectNext(UserKey.encode("C", "23445322"))
+                .verifyComplete();
+        StepVerifier.create(userServiceAdapter.userCount()).expectNext(1L).verifyComplete();
+    }
 }
@@ -0,0 +1,181 @@
+package co.com.prueba.adapter.batch;
+
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatchingDecoratorTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(5);
+
+    private final List<List<UserRequest>> batches = new CopyOnWriteArrayList<>();
+    private final List<UserRequest> singles = new CopyOnWriteArrayList<>();
+    private VirtualTimeScheduler scheduler;
+
+    private final UserRepository backend = new UserRepository() {
+        @Override
+        public Mono<UserResponse> findByUser(UserRequest request) {
+            singles.add(request);
+            return Mono.error(USER_NOT_FOUND_ERROR);
+        }
+
+        @Override
+        public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+            return requests.collectList()
+                    .doOnNext(batches::add)
+                    .flatMapIterable(list -> list.stream()
+                            .map(request -> switch (request.getDocumentNumber()) {
+                                case "400" -> UserLookupResult.badRequest(request, "Documento invalido");
+                                case "404" -> UserLookupResult.notFound(request, USER_NOT_FOUND);
+                                default -> UserLookupResult.found(request,
+                                        UserResponse.builder().firstName(request.getDocumentNumber()).build());
+                            })
+                            .toList());
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+    }
+
+    private MicroBatchingDecorator decorator(int maxSize) {
+        return new MicroBatchingDecorator(backend, maxSize, WINDOW, scheduler);
+    }
+
+    @Test
+    void testFindByUser_WindowGroupsConcurrentLookups() {
+        var decorator = decorator(64);
+
+        var first = decorator.findByUser(new UserRequest("C", "1")).toFuture();
+        var second = decorator.findByUser(new UserRequest("C", "2")).toFuture();
+        assertTrue(batches.isEmpty());
+
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals("1", first.join().getFirstName());
+        assertEquals("2", second.join().getFirstName());
+    }
+
+    @Test
+    void testFindByUser_MaxSizeFlushesWithoutWaiting() {
+        var decorator = decorator(3);
+
+        var results = Flux.range(1, 7)
+                .flatMap(i -> decorator.findByUser(new UserRequest("C", String.valueOf(i))))
+                .collectList()
+                .toFuture();
+
+        assertEquals(2, batches.size());
+        assertFalse(results.isDone());
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertEquals(List.of(3, 3, 1), batches.stream().map(List::size).toList());
+        assertEquals(7, results.join().size());
+    }
+
+    @Test
+    void testFindByUser_DuplicatesShareOneKey() {
+        var decorator = decorator(64);
+
+        var first = decorator.findByUser(new UserRequest("C", "7")).toFuture();
+        var second = decorator.findByUser(new UserRequest("c", "7")).toFuture();
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertEquals(1, batches.get(0).size());
+        assertSame(first.join(), second.join());
+    }
+
+    @Test
+    void testFindByUser_NotFoundAndBadRequest() {
+        var decorator = decorator(2);
+
+        StepVerifier.create(decorator.findByUser(new UserRequest("C", "404")))
+                .then(() -> decorator.findByUser(new UserRequest("C", "1")).subscribe())
+                .verifyErrorMatches(error -> error == UserRepository.USER_NOT_FOUND_ERROR);
+        StepVerifier.create(decorator.findByUser(new UserRequest("C", "400")))
+                .then(() -> decorator.findByUser(new UserRequest("C", "1")).subscribe())
+                .verifyErrorMatches(error -> error instanceof CustomException exception
+                        && exception.getStatus() == HttpStatus.BAD_REQUEST
+                        && "Documento invalido".equals(exception.getMessage()));
+    }
+
+    @Test
+    void testFindByUser_BackendErrorReachesEveryLookup() {
+        var failure = new IllegalStateException("Backend caido");
+        var decorator = new MicroBatchingDecorator(new UserRepository() {
+            @Override
+            public Mono<UserResponse> findByUser(UserRequest request) {
+                return Mono.empty();
+            }
+
+            @Override
+            public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+                return Flux.error(failure);
+            }
+        }, 2, WINDOW, scheduler);
+
+        var first = decorator.findByUser(new UserRequest("C", "1")).toFuture();
+        var second = decorator.findByUser(new UserRequest("C", "2")).toFuture();
+
+        assertSame(failure, assertThrows(Exception.class, first::join).getCause());
+        assertSame(failure, assertThrows(Exception.class, second::join).getCause());
+    }
+
+    @Test
+    void testFindByUser_InvalidKeyBypassesBatch() {
+        var decorator = decorator(64);
+
+        StepVerifier.create(decorator.findByUser(new UserRequest("X", "1")))
+                .verifyErrorMatches(error -> error == UserRepository.USER_NOT_FOUND_ERROR);
+
+        assertEquals(1, singles.size());
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    void testFindByUser_CancelledLookupsAreNotSent() {
+        var decorator = decorator(64);
+
+        decorator.findByUser(new UserRequest("C", "1")).subscribe().dispose();
+        var kept = decorator.findByUser(new UserRequest("C", "2")).toFuture();
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertEquals(List.of("2"), batches.get(0).stream().map(UserRequest::getDocumentNumber).toList());
+        assertEquals("2", kept.join().getFirstName());
+    }
+
+    @Test
+    void testBindTo_RecordsBatchSizes() {
+        var registry = new SimpleMeterRegistry();
+        var decorator = decorator(2);
+        decorator.bindTo(registry);
+
+        Flux.range(1, 4)
+                .flatMap(i -> decorator.findByUser(new UserRequest("C", String.valueOf(i))))
+                .blockLast();
+
+        assertEquals(4.0, registry.get(MicroBatchingDecorator.METRIC_PREFIX + ".lookups").counter().count());
+        var size = registry.get(MicroBatchingDecorator.METRIC_PREFIX + ".size").summary();
+        assertEquals(2, size.count());
+        assertEquals(4.0, size.totalAmount());
+    }
+}
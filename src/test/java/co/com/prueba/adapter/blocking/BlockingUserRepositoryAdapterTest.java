@@ -0,0 +1,147 @@
+package co.com.prueba.adapter.blocking;
+
+import co.com.prueba.config.UserRepositoryProperties;
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.BlockingUserRepository;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockingUserRepositoryAdapterTest {
+
+    private static final UserResponse USER = UserResponse.builder().firstName("Daniel").build();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BlockingUserRepositoryAdapter adapter;
+
+    private BlockingUserRepositoryAdapter adapter(BlockingUserRepository delegate,
+                                                  UserRepositoryProperties.SchedulerType scheduler,
+                                                  int maxConcurrency) {
+        var properties = new UserRepositoryProperties();
+        properties.getBlocking().setScheduler(scheduler);
+        properties.getBlocking().setMaxConcurrency(maxConcurrency);
+        properties.getBlocking().setPinningDetection(false);
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", registry);
+        adapter = new BlockingUserRepositoryAdapter(delegate, properties,
+                beanFactory.getBeanProvider(MeterRegistry.class));
+        return adapter;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (adapter != null) {
+            adapter.close();
+        }
+    }
+
+    @Test
+    void testFindByUser_Found() {
+        var adapter = adapter(request -> USER, UserRepositoryProperties.SchedulerType.VIRTUAL, 4);
+
+        StepVerifier.create(adapter.findByUser(new UserRequest("C", "23445322")))
+                .expectNext(USER)
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindByUser_NullIsNotFound() {
+        var adapter = adapter(request -> null, UserRepositoryProperties.SchedulerType.VIRTUAL, 4);
+
+        StepVerifier.create(adapter.findByUser(new UserRequest("C", "1000")))
+                .verifyErrorMatches(error -> error == UserRepository.USER_NOT_FOUND_ERROR);
+    }
+
+    @Test
+    void testFindByUser_PropagatesCustomException() {
+        var failure = new CustomException(HttpStatus.BAD_GATEWAY, "Fallo");
+        var adapter = adapter(request -> {
+            throw failure;
+        }, UserRepositoryProperties.SchedulerType.VIRTUAL, 4);
+
+        StepVerifier.create(adapter.findByUser(new UserRequest("C", "1000")))
+                .verifyErrorMatches(error -> error == failure);
+        assertEquals(0, adapter.inFlight());
+    }
+
+    @Test
+    void testFindByUser_VirtualRunsOnVirtualThread() {
+        var thread = new AtomicReference<Thread>();
+        var adapter = adapter(request -> {
+            thread.set(Thread.currentThread());
+            return USER;
+        }, UserRepositoryProperties.SchedulerType.VIRTUAL, 4);
+
+        adapter.findByUser(new UserRequest("C", "23445322")).block();
+
+        assertTrue(thread.get().isVirtual());
+        assertTrue(thread.get().getName().startsWith(BlockingUserRepositoryAdapter.SCHEDULER_NAME));
+    }
+
+    @Test
+    void testFindByUser_BoundedElasticRunsOnPlatformThread() {
+        var thread = new AtomicReference<Thread>();
+        var adapter = adapter(request -> {
+            thread.set(Thread.currentThread());
+            return USER;
+        }, UserRepositoryProperties.SchedulerType.BOUNDED_ELASTIC, 4);
+
+        adapter.findByUser(new UserRequest("C", "23445322")).block();
+
+        assertFalse(thread.get().isVirtual());
+        assertTrue(thread.get().getName().startsWith(BlockingUserRepositoryAdapter.SCHEDULER_NAME));
+    }
+
+    @Test
+    void testFindByUser_MaxConcurrencyCapsInFlightLookups() {
+        var current = new AtomicInteger();
+        var max = new AtomicInteger();
+        var adapter = adapter(request -> {
+            max.accumulateAndGet(current.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            current.decrementAndGet();
+            return USER;
+        }, UserRepositoryProperties.SchedulerType.VIRTUAL, 3);
+
+        StepVerifier.create(Flux.range(0, 60)
+                        .flatMap(i -> adapter.findByUser(new UserRequest("C", String.valueOf(i))), 60))
+                .expectNextCount(60)
+                .verifyComplete();
+
+        assertTrue(max.get() <= 3, "maximo en curso " + max.get());
+        assertEquals(0, adapter.inFlight());
+        assertEquals(0.0, registry.get(BlockingUserRepositoryAdapter.IN_FLIGHT_GAUGE).gauge().value());
+    }
+
+    @Test
+    void testClose_DisposesScheduler() {
+        var adapter = adapter(request -> USER, UserRepositoryProperties.SchedulerType.VIRTUAL, 4);
+        adapter.close();
+
+        StepVerifier.create(adapter.findByUser(new UserRequest("C", "23445322")))
+                .verifyError();
+    }
+
+    @Test
+    void testPinningDetection_OnlyForVirtualScheduler() {
+        var properties = new UserRepositoryProperties();
+        properties.getBlocking().setScheduler(UserRepositoryProperties.SchedulerType.BOUNDED_ELASTIC);
+        adapter = new BlockingUserRepositoryAdapter(request -> USER, properties,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+        assertNull(adapter.getPinnedThreadMonitor());
+    }
+}
@@ -0,0 +1,50 @@
+package co.com.prueba.adapter.blocking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PinnedThreadMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void testPinnedVirtualThread_IsCounted() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        try (var monitor = new PinnedThreadMonitor(Duration.ofMillis(5), registry)) {
+            var thread = Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            thread.join();
+
+            await().atMost(Duration.ofSeconds(10)).until(() -> monitor.getPinnedCount() > 0);
+            assertTrue(registry.get(PinnedThreadMonitor.PINNED_COUNTER).counter().count() > 0);
+        }
+    }
+
+    @Test
+    void testUnpinnedVirtualThread_IsNotCounted() throws Exception {
+        try (var monitor = new PinnedThreadMonitor(Duration.ofMillis(5), null)) {
+            Thread.ofVirtual().start(() -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }).join();
+            Thread.sleep(1_500);
+
+            assertEquals(0, monitor.getPinnedCount());
+        }
+    }
+}
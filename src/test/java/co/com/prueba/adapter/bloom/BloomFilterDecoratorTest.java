@@ -0,0 +1,118 @@
+package co.com.prueba.adapter.bloom;
+
+import co.com.prueba.adapter.memory.InMemoryUserAdapter;
+import co.com.prueba.model.user.LookupStatus;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterDecoratorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private InMemoryUserAdapter adapter;
+    private BloomFilterDecorator decorator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        adapter = new InMemoryUserAdapter(new ByteArrayResource(
+                "C;23445322;Daniel;Ricardo;Buritica;Junco;3217570485;Calle falsa 123;Bogota\n".getBytes()), 16);
+        UserRepository counting = new UserRepository() {
+            @Override
+            public Mono<UserResponse> findByUser(UserRequest request) {
+                backendCalls.incrementAndGet();
+                return adapter.findByUser(request);
+            }
+
+            @Override
+            public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+                return adapter.findByUsers(requests.doOnNext(request -> backendCalls.incrementAndGet()));
+            }
+        };
+        decorator = new BloomFilterDecorator(counting, adapter, 0.01, 1.5, 64);
+        decorator.bindTo(registry);
+    }
+
+    @Test
+    void testFindByUser_PassThroughUntilBuilt() {
+        StepVerifier.create(decorator.findByUser(new UserRequest("C", "1000"))).verifyError();
+
+        assertNull(decorator.filter());
+        assertEquals(1, backendCalls.get());
+    }
+
+    @Test
+    void testFindByUser_DefiniteMissSkipsBackend() {
+        decorator.rebuild().block();
+
+        StepVerifier.create(decorator.findByUser(new UserRequest("C", "1000")))
+                .verifyErrorMatches(error -> error == UserRepository.USER_NOT_FOUND_ERROR);
+        StepVerifier.create(decorator.findByUser(new UserRequest("C", "23445322")))
+                .assertNext(user -> assertEquals("Daniel", user.getFirstName()))
+                .verifyComplete();
+
+        assertEquals(1, backendCalls.get());
+        assertEquals(1, registry.get("user.bloom.negatives").counter().count());
+        assertEquals(1, registry.get("user.bloom.keys").gauge().value());
+        assertTrue(registry.get("user.bloom.memory").gauge().value() > 0);
+        assertTrue(registry.get("user.bloom.expected.false.positive.rate").gauge().value() < 0.01);
+    }
+
+    @Test
+    void testFindByUser_AddedUsersAreVisible() {
+        decorator.rebuild().block();
+
+        adapter.put(new UserRequest("P", "AB12345"), UserResponse.builder().firstName("Ricardo").build());
+
+        StepVerifier.create(decorator.findByUser(new UserRequest("P", "AB12345")))
+                .assertNext(user -> assertEquals("Ricardo", user.getFirstName()))
+                .verifyComplete();
+        assertEquals(2, decorator.filter().insertions());
+    }
+
+    @Test
+    void testFindByUsers_MissesAnsweredInOrder() {
+        decorator.rebuild().block();
+
+        StepVerifier.create(decorator.findByUsers(Flux.just(
+                        new UserRequest("C", "1000"), new UserRequest("C", "23445322"),
+                        new UserRequest("C", "1001"), new UserRequest("C", "1002"))))
+                .assertNext(result -> assertEquals(LookupStatus.NOT_FOUND, result.getStatus()))
+                .assertNext(result -> assertEquals(LookupStatus.FOUND, result.getStatus()))
+                .assertNext(result -> assertEquals("1001", result.getDocumentNumber()))
+                .assertNext(result -> assertEquals(LookupStatus.NOT_FOUND, result.getStatus()))
+                .verifyComplete();
+
+        assertEquals(1, backendCalls.get());
+    }
+
+    @Test
+    void testStart_RebuildsPeriodically() {
+        decorator.start(Duration.ofMillis(20));
+        try {
+            StepVerifier.create(Mono.fromCallable(decorator::filter).repeatWhenEmpty(f -> f.delayElements(Duration.ofMillis(10))))
+                    .expectNextCount(1)
+                    .verifyComplete();
+            var first = decorator.filter();
+            StepVerifier.create(Mono.fromCallable(() -> decorator.filter() == first ? null : decorator.filter())
+                            .repeatWhenEmpty(f -> f.delayElements(Duration.ofMillis(10))))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        } finally {
+            decorator.stop();
+        }
+    }
+}
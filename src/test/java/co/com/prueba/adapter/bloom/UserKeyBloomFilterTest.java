@@ -0,0 +1,69 @@
+package co.com.prueba.adapter.bloom;
+
+import co.com.prueba.model.user.UserKey;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserKeyBloomFilterTest {
+
+    private static long key(int number) {
+        return UserKey.encode("C", String.valueOf(1_000_000 + number));
+    }
+
+    @Test
+    void testMightContain_NoFalseNegatives() {
+        var filter = new UserKeyBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(key(i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(key(i)));
+        }
+        assertEquals(10_000, filter.insertions());
+    }
+
+    @Test
+    void testMightContain_FalsePositiveRateNearTarget() {
+        var filter = new UserKeyBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(key(i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain(key(i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveRate() > 0.001 && filter.expectedFalsePositiveRate() < 0.02);
+    }
+
+    @Test
+    void testSizing() {
+        var filter = new UserKeyBloomFilter(1_000, 0.01);
+
+        assertEquals(0, filter.bitSize() % 64);
+        assertTrue(filter.bitSize() >= 9_585);
+        assertEquals(7, filter.hashFunctions());
+        assertEquals(filter.bitSize() / 8, filter.memoryBytes());
+        assertEquals(0.0, filter.expectedFalsePositiveRate());
+    }
+
+    @Test
+    void testInvalidKey() {
+        var filter = new UserKeyBloomFilter(16, 0.01);
+        filter.put(UserKey.INVALID);
+
+        assertFalse(filter.mightContain(UserKey.INVALID));
+        assertEquals(0, filter.insertions());
+    }
+
+    @Test
+    void testInvalidFalsePositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new UserKeyBloomFilter(16, 0));
+        assertThrows(IllegalArgumentException.class, () -> new UserKeyBloomFilter(16, 1));
+    }
+}
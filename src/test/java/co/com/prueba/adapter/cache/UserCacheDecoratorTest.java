@@ -0,0 +1,166 @@
+package co.com.prueba.adapter.cache;
+
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.UserVersion;
+import co.com.prueba.model.user.gateway.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheDecoratorTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserResponse userResponse;
+    private UserRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new UserRequest("C", "23445322");
+        userResponse = UserResponse.builder().firstName("Daniel").build();
+    }
+
+    @Test
+    void testFindByUser_HitAvoidsBackend() {
+        when(userRepository.findByUser(any())).thenReturn(Mono.just(userResponse));
+        UserCacheDecorator decorator = new UserCacheDecorator(userRepository, 10, Duration.ofMinutes(1));
+
+        StepVerifier.create(decorator.findByUser(request)).expectNext(userResponse).verifyComplete();
+        StepVerifier.create(decorator.findByUser(new UserRequest("c", "23445322")))
+                .expectNext(userResponse)
+                .verifyComplete();
+
+        verify(userRepository, times(1)).findByUser(any());
+        assertEquals(1, decorator.stats().hitCount());
+        assertEquals(1, decorator.stats().missCount());
+    }
+
+    @Test
+    void testFindByUser_ConcurrentLookupsShareOneCall() {
+        Sinks.One<UserResponse> backend = Sinks.one();
+        when(userRepository.findByUser(any())).thenReturn(backend.asMono());
+        UserCacheDecorator decorator = new UserCacheDecorator(userRepository, 10, Duration.ofMinutes(1));
+
+        Mono<UserResponse> first = decorator.findByUser(request);
+        Mono<UserResponse> second = decorator.findByUser(request);
+        StepVerifier.Step<UserResponse> firstStep = StepVerifier.create(first).expectSubscription();
+        StepVerifier.Step<UserResponse> secondStep = StepVerifier.create(second).expectSubscription();
+        backend.tryEmitValue(userResponse);
+
+        firstStep.expectNext(userResponse).verifyComplete();
+        secondStep.expectNext(userResponse).verifyComplete();
+        verify(userRepository, times(1)).findByUser(any());
+    }
+
+    @Test
+    void testFindByUser_ErrorsAreNotCached() {
+        when(userRepository.findByUser(any()))
+                .thenReturn(Mono.error(new CustomException(HttpStatus.NOT_FOUND, "No existe el usuario.")));
+        UserCacheDecorator decorator = new UserCacheDecorator(userRepository, 10, Duration.ofMinutes(1));
+
+        StepVerifier.create(decorator.findByUser(request)).expectError(CustomException.class).verify();
+        StepVerifier.create(decorator.findByUser(request)).expectError(CustomException.class).verify();
+
+        verify(userRepository, times(2)).findByUser(any());
+        assertEquals(0, decorator.estimatedSize());
+    }
+
+    @Test
+    void testFindByUser_ExpiresAfterTtl() {
+        when(userRepository.findByUser(any())).thenReturn(Mono.just(userResponse));
+        AtomicLong nanos = new AtomicLong();
+        Ticker ticker = nanos::get;
+        UserCacheDecorator decorator = new UserCacheDecorator(userRepository, Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(30))
+                .ticker(ticker)
+                .build());
+
+        decorator.findByUser(request).block();
+        decorator.findByUser(request).block();
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        decorator.findByUser(request).block();
+
+        verify(userRepository, times(2)).findByUser(any());
+    }
+
+    @Test
+    void testFindByUser_EvictsBeyondMaximumSize() {
+        when(userRepository.findByUser(any())).thenReturn(Mono.just(userResponse));
+        UserCacheDecorator decorator = new UserCacheDecorator(userRepository, Caffeine.newBuilder()
+                .maximumSize(2)
+                .executor(Runnable::run)
+                .recordStats()
+                .build());
+
+        for (int i = 0; i < 10; i++) {
+            decorator.findByUser(new UserRequest("C", String.valueOf(1000 + i))).block();
+        }
+
+        assertTrue(decorator.estimatedSize() <= 2);
+        assertTrue(decorator.stats().evictionCount() >= 8);
+    }
+
+    @Test
+    void testFindByUser_UnencodableDocumentBypassesCache() {
+        UserRequest invalid = new UserRequest("C", "12-34");
+        when(userRepository.findByUser(invalid)).thenReturn(Mono.just(userResponse));
+        UserCacheDecorator decorator = new UserCacheDecorator(userRepository, 10, Duration.ofMinutes(1));
+
+        decorator.findByUser(invalid).block();
+        decorator.findByUser(invalid).block();
+
+        verify(userRepository, times(2)).findByUser(invalid);
+    }
+
+    @Test
+    void testBindTo_RegistersCacheMetrics() {
+        when(userRepository.findByUser(any())).thenReturn(Mono.just(userResponse));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UserCacheDecorator decorator = new UserCacheDecorator(userRepository, 10, Duration.ofMinutes(1));
+        decorator.bindTo(registry);
+
+        decorator.findByUser(request).block();
+        decorator.findByUser(request).block();
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "users").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testFindVersionedByUser_StoresVersionWithEntry() {
+        when(userRepository.findByUser(any())).thenReturn(Mono.just(userResponse));
+        UserCacheDecorator decorator = new UserCacheDecorator(userRepository, 10, Duration.ofMinutes(1));
+
+        StepVerifier.create(decorator.findByUser(request)).expectNext(userResponse).verifyComplete();
+        var first = decorator.findVersionedByUser(request).block();
+        var second = decorator.findVersionedByUser(request).block();
+
+        assertEquals(UserVersion.of(userResponse), first.version());
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByUser(any());
+    }
+}
@@ -0,0 +1,49 @@
+package co.com.prueba.adapter.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgeBudgetTest {
+
+    @Test
+    void testTryAcquire_RatioOfRequests() {
+        var budget = new HedgeBudget(0.1, 100);
+        int granted = 0;
+
+        for (int i = 0; i < 1_000; i++) {
+            budget.onRequest();
+            if (budget.tryAcquire()) {
+                granted++;
+            }
+        }
+
+        assertEquals(100, granted);
+    }
+
+    @Test
+    void testTryAcquire_EmptyWithoutRequests() {
+        assertFalse(new HedgeBudget(0.5, 10).tryAcquire());
+    }
+
+    @Test
+    void testOnRequest_CappedAtMaxTokens() {
+        var budget = new HedgeBudget(1, 3);
+
+        for (int i = 0; i < 10; i++) {
+            budget.onRequest();
+        }
+
+        assertEquals(3.0, budget.tokens());
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    void testConstructor_InvalidRatio() {
+        assertThrows(IllegalArgumentException.class, () -> new HedgeBudget(-0.1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new HedgeBudget(1.1, 10));
+    }
+}
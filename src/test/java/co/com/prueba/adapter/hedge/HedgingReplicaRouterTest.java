@@ -0,0 +1,256 @@
+package co.com.prueba.adapter.hedge;
+
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingReplicaRouterTest {
+
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(10);
+
+    private final UserRequest request = new UserRequest("C", "23445322");
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private VirtualTimeScheduler scheduler;
+    private LatencyPercentile latency;
+
+    /**
+     * Replica que responde con su nombre despues de {@code latency} y cuenta llamadas y cancelaciones.
+     */
+    private class StubReplica implements UserRepository {
+        private final String name;
+        private final Duration latency;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger cancellations = new AtomicInteger();
+
+        private StubReplica(String name, Duration latency) {
+            this.name = name;
+            this.latency = latency;
+        }
+
+        @Override
+        public Mono<UserResponse> findByUser(UserRequest request) {
+            calls.incrementAndGet();
+            return Mono.delay(latency, scheduler)
+                    .thenReturn(UserResponse.builder().firstName(name).build())
+                    .doOnCancel(cancellations::incrementAndGet);
+        }
+
+        @Override
+        public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+            calls.incrementAndGet();
+            return requests.map(lookup -> UserLookupResult.found(lookup, UserResponse.builder().firstName(name).build()));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+    }
+
+    private HedgingReplicaRouter hedging(HedgeBudget budget, UserRepository... replicas) {
+        latency = new LatencyPercentile(0.95, 64, 64, HEDGE_DELAY.toNanos());
+        var hedging = new HedgingReplicaRouter(List.of(replicas), latency, budget, Duration.ofMillis(1),
+                scheduler, () -> scheduler.now(TimeUnit.NANOSECONDS));
+        hedging.bindTo(registry);
+        return hedging;
+    }
+
+    private double counter(String name) {
+        return registry.get(HedgingReplicaRouter.METRIC_PREFIX + "." + name).counter().count();
+    }
+
+    @Test
+    void testFindByUser_FastPrimaryIsNotHedged() {
+        var primary = new StubReplica("primaria", Duration.ofMillis(5));
+        var secondary = new StubReplica("secundaria", Duration.ofMillis(5));
+        var hedging = hedging(new HedgeBudget(1, 10), primary, secondary);
+
+        var result = hedging.findByUser(request).toFuture();
+        scheduler.advanceTimeBy(Duration.ofMillis(5));
+
+        assertEquals("primaria", result.join().getFirstName());
+        scheduler.advanceTimeBy(HEDGE_DELAY);
+        assertEquals(0, secondary.calls.get());
+        assertEquals(0.0, counter("requests"));
+    }
+
+    @Test
+    void testFindByUser_SlowPrimaryIsHedgedAndCancelled() {
+        var primary = new StubReplica("primaria", Duration.ofMillis(100));
+        var secondary = new StubReplica("secundaria", Duration.ofMillis(5));
+        var hedging = hedging(new HedgeBudget(1, 10), primary, secondary);
+
+        var result = hedging.findByUser(request).toFuture();
+        scheduler.advanceTimeBy(HEDGE_DELAY.plusMillis(4));
+        assertFalse(result.isDone());
+        scheduler.advanceTimeBy(Duration.ofMillis(1));
+
+        assertEquals("secundaria", result.join().getFirstName());
+        assertEquals(1, primary.cancellations.get());
+        assertEquals(1.0, counter("requests"));
+        assertEquals(1.0, counter("wins"));
+    }
+
+    @Test
+    void testFindByUser_ExhaustedBudgetWaitsForPrimary() {
+        var primary = new StubReplica("primaria", Duration.ofMillis(100));
+        var secondary = new StubReplica("secundaria", Duration.ofMillis(5));
+        var hedging = hedging(new HedgeBudget(0, 10), primary, secondary);
+
+        var result = hedging.findByUser(request).toFuture();
+        scheduler.advanceTimeBy(Duration.ofMillis(99));
+        assertFalse(result.isDone());
+        scheduler.advanceTimeBy(Duration.ofMillis(1));
+
+        assertEquals("primaria", result.join().getFirstName());
+        assertEquals(0, secondary.calls.get());
+        assertEquals(1.0, counter("throttled"));
+    }
+
+    @Test
+    void testFindByUser_PrimaryErrorIsNotHedged() {
+        var secondary = new StubReplica("secundaria", Duration.ofMillis(5));
+        var hedging = hedging(new HedgeBudget(1, 10),
+                lookup -> Mono.error(UserRepository.USER_NOT_FOUND_ERROR), secondary);
+
+        StepVerifier.create(hedging.findByUser(request))
+                .verifyErrorMatches(error -> error == UserRepository.USER_NOT_FOUND_ERROR);
+        scheduler.advanceTimeBy(HEDGE_DELAY);
+
+        assertEquals(0, secondary.calls.get());
+    }
+
+    @Test
+    void testFindByUser_PrimaryFailureHedgesImmediately() {
+        var secondary = new StubReplica("secundaria", Duration.ofMillis(5));
+        var hedging = hedging(new HedgeBudget(1, 10),
+                lookup -> Mono.error(new IllegalStateException("conexion cerrada")), secondary);
+
+        var result = hedging.findByUser(request).toFuture();
+        scheduler.advanceTimeBy(Duration.ofMillis(5));
+
+        assertEquals("secundaria", result.join().getFirstName());
+        assertEquals(1.0, counter("requests"));
+    }
+
+    @Test
+    void testFindByUser_BothFailuresPropagatePrimaryError() {
+        var primaryError = new IllegalStateException("primaria");
+        var hedging = hedging(new HedgeBudget(1, 10),
+                lookup -> Mono.error(primaryError), lookup -> Mono.error(new IllegalStateException("secundaria")));
+
+        StepVerifier.create(hedging.findByUser(request))
+                .verifyErrorMatches(error -> error == primaryError);
+    }
+
+    @Test
+    void testFindByUser_PrimaryFailureWithoutBudgetPropagatesError() {
+        var primaryError = new IllegalStateException("primaria");
+        var secondary = new StubReplica("secundaria", Duration.ofMillis(5));
+        var hedging = hedging(new HedgeBudget(0, 10), lookup -> Mono.error(primaryError), secondary);
+
+        StepVerifier.create(hedging.findByUser(request))
+                .verifyErrorMatches(error -> error == primaryError);
+
+        assertEquals(0, secondary.calls.get());
+        assertEquals(1.0, counter("throttled"));
+    }
+
+    @Test
+    void testFindByUser_EmptyPrimaryIsNotHedged() {
+        var secondary = new StubReplica("secundaria", Duration.ofMillis(5));
+        var hedging = hedging(new HedgeBudget(1, 10), lookup -> Mono.empty(), secondary);
+
+        StepVerifier.create(hedging.findByUser(request))
+                .verifyComplete();
+        scheduler.advanceTimeBy(HEDGE_DELAY);
+
+        assertEquals(0, secondary.calls.get());
+        assertEquals(1, latency.count());
+    }
+
+    @Test
+    void testFindByUser_CancelledPrimaryRecordsElapsedLatency() {
+        var primary = new StubReplica("primaria", Duration.ofMillis(100));
+        var secondary = new StubReplica("secundaria", Duration.ofMillis(5));
+        var hedging = hedging(new HedgeBudget(1, 10), primary, secondary);
+
+        var result = hedging.findByUser(request).toFuture();
+        scheduler.advanceTimeBy(HEDGE_DELAY.plusMillis(5));
+
+        assertEquals("secundaria", result.join().getFirstName());
+        assertEquals(1, primary.cancellations.get());
+        assertEquals(2, latency.count());
+    }
+
+    @Test
+    void testFindByUser_RoundRobinAcrossReplicas() {
+        var first = new StubReplica("primera", Duration.ZERO);
+        var second = new StubReplica("segunda", Duration.ZERO);
+        var hedging = hedging(new HedgeBudget(1, 10), first, second);
+
+        for (int i = 0; i < 4; i++) {
+            var result = hedging.findByUser(request).toFuture();
+            scheduler.advanceTime();
+            assertNotNull(result.join());
+        }
+
+        assertEquals(2, first.calls.get());
+        assertEquals(2, second.calls.get());
+    }
+
+    @Test
+    void testFindByUser_SingleReplicaHedgesToItself() {
+        var only = new StubReplica("unica", Duration.ofMillis(100));
+        var hedging = hedging(new HedgeBudget(1, 10), only);
+
+        var result = hedging.findByUser(request).toFuture();
+        scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+        assertNotNull(result.join());
+        assertEquals(2, only.calls.get());
+        assertEquals(1, hedging.replicas().size());
+    }
+
+    @Test
+    void testDelayNanos_FollowsObservedPercentile() {
+        var replica = new StubReplica("unica", Duration.ofMillis(3));
+        var hedging = hedging(new HedgeBudget(0, 10), replica);
+
+        for (int i = 0; i < 64; i++) {
+            var result = hedging.findByUser(request).toFuture();
+            scheduler.advanceTimeBy(Duration.ofMillis(3));
+            assertNotNull(result.join());
+        }
+
+        assertEquals(Duration.ofMillis(3).toNanos(), hedging.delayNanos());
+    }
+
+    @Test
+    void testFindByUsers_SingleReplicaWithoutHedge() {
+        var first = new StubReplica("primera", Duration.ZERO);
+        var second = new StubReplica("segunda", Duration.ZERO);
+        var hedging = hedging(new HedgeBudget(1, 10), first, second);
+
+        StepVerifier.create(hedging.findByUsers(Flux.just(request, request)))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertEquals(1, first.calls.get() + second.calls.get());
+    }
+}
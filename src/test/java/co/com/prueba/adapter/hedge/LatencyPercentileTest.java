@@ -0,0 +1,66 @@
+package co.com.prueba.adapter.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyPercentileTest {
+
+    @Test
+    void testCurrentNanos_InitialUntilMinSamples() {
+        var latency = new LatencyPercentile(0.9, 100, 10, 50);
+
+        for (int i = 0; i < 9; i++) {
+            latency.record(1);
+        }
+        assertEquals(50, latency.currentNanos());
+
+        latency.record(1);
+        assertEquals(1, latency.currentNanos());
+    }
+
+    @Test
+    void testCurrentNanos_Percentile() {
+        var latency = new LatencyPercentile(0.95, 80, 1, 0);
+
+        for (int i = 1; i <= 80; i++) {
+            latency.record(i);
+        }
+
+        assertEquals(76, latency.currentNanos());
+        assertEquals(80, latency.count());
+    }
+
+    @Test
+    void testCurrentNanos_WindowForgetsOldSamples() {
+        var latency = new LatencyPercentile(0.5, 16, 1, 0);
+
+        for (int i = 0; i < 16; i++) {
+            latency.record(1_000);
+        }
+        for (int i = 0; i < 16; i++) {
+            latency.record(10);
+        }
+
+        assertEquals(10, latency.currentNanos());
+    }
+
+    @Test
+    void testCurrentNanos_RecomputedEveryEighthOfWindow() {
+        var latency = new LatencyPercentile(1, 80, 1, 0);
+
+        for (int i = 1; i <= 80; i++) {
+            latency.record(i);
+        }
+        latency.record(1_000);
+
+        assertEquals(80, latency.currentNanos());
+    }
+
+    @Test
+    void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyPercentile(0, 16, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyPercentile(1.5, 16, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyPercentile(0.5, 0, 1, 0));
+    }
+}
@@ -0,0 +1,122 @@
+package co.com.prueba.adapter.memory;
+
+import co.com.prueba.config.UseCaseScanConfig;
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.LookupStatus;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.support.TestPropertySourceUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryUserAdapterTest {
+
+    private static final String USERS = """
+            documentType;documentNumber;firstName;secondName;firstLastName;secondLastName;phone;address;residenceCity
+            C;23445322;Daniel;Ricardo;Buritica;Junco;3217570485;Calle falsa 123;Bogota
+            P;AB123456;Ana;;Perez;Gomez;3000000000;Carrera 7;Medellin
+            """;
+
+    private InMemoryUserAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        adapter = new InMemoryUserAdapter(new ByteArrayResource(USERS.getBytes(StandardCharsets.UTF_8)), 2);
+    }
+
+    @Test
+    void testFindByUser_Success() {
+        StepVerifier.create(adapter.findByUser(new UserRequest("C", "23445322")))
+                .assertNext(userResponse -> {
+                    assertEquals("Daniel", userResponse.getFirstName());
+                    assertEquals("Ricardo", userResponse.getSecondName());
+                    assertEquals("Buritica", userResponse.getFirstLastName());
+                    assertEquals("Junco", userResponse.getSecondLastName());
+                    assertEquals("3217570485", userResponse.getPhone());
+                    assertEquals("Calle falsa 123", userResponse.getAddress());
+                    assertEquals("Bogota", userResponse.getResidenceCity());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindByUser_ReturnsSameInstance() {
+        UserResponse first = adapter.findByUser(new UserRequest("P", "AB123456")).block();
+        UserResponse second = adapter.findByUser(new UserRequest("p", "ab123456")).block();
+
+        assertNotNull(first);
+        assertSame(first, second);
+    }
+
+    @Test
+    void testFindByUser_NotFound() {
+        StepVerifier.create(adapter.findByUser(new UserRequest("C", "99999999")))
+                .verifyErrorMatches(throwable -> throwable instanceof CustomException customException
+                        && customException.getStatus() == HttpStatus.NOT_FOUND
+                        && InMemoryUserAdapter.USER_NOT_FOUND.equals(customException.getMessage()));
+    }
+
+    @Test
+    void testFindByUser_MalformedDocument() {
+        StepVerifier.create(adapter.findByUser(new UserRequest("C", "23-44")))
+                .expectError(CustomException.class)
+                .verify();
+    }
+
+    @Test
+    void testPut_AddsUser() {
+        adapter.put(new UserRequest("C", "1000"), UserResponse.builder().firstName("Nuevo").build());
+
+        assertEquals(3, adapter.size());
+        StepVerifier.create(adapter.findByUser(new UserRequest("C", "1000")))
+                .assertNext(userResponse -> assertEquals("Nuevo", userResponse.getFirstName()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testPut_InvalidDocument() {
+        UserRequest request = new UserRequest("X", "1000");
+        UserResponse user = UserResponse.builder().build();
+
+        assertThrows(IllegalArgumentException.class, () -> adapter.put(request, user));
+    }
+
+    @Test
+    void testDefaultSource() throws Exception {
+        InMemoryUserAdapter defaultAdapter = new InMemoryUserAdapter(new ClassPathResource("users.csv"), 1);
+
+        assertEquals(1, defaultAdapter.size());
+    }
+
+    @Test
+    void testComponentScan_SelectsInMemoryAdapter() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        TestPropertySourceUtils.addInlinedPropertiesToEnvironment(context, "adapter.user.type=in-memory");
+        context.register(UseCaseScanConfig.class);
+        context.refresh();
+
+        assertInstanceOf(InMemoryUserAdapter.class, context.getBean(UserRepository.class));
+
+        context.close();
+    }
+
+    @Test
+    void testFindByUsers_MultiGet() {
+        StepVerifier.create(adapter.findByUsers(Flux.just(
+                        new UserRequest("P", "AB123456"), new UserRequest("C", "99999999"))))
+                .assertNext(result -> assertEquals(LookupStatus.FOUND, result.getStatus()))
+                .assertNext(result -> assertEquals(LookupStatus.NOT_FOUND, result.getStatus()))
+                .verifyComplete();
+    }
+}
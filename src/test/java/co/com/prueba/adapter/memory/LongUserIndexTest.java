@@ -0,0 +1,81 @@
+package co.com.prueba.adapter.memory;
+
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongUserIndexTest {
+
+    @Test
+    void testPutAndGet() {
+        LongUserIndex index = new LongUserIndex(4);
+        UserResponse user = UserResponse.builder().firstName("Daniel").build();
+        long key = UserKey.encode("C", "23445322");
+
+        assertTrue(index.put(key, user));
+
+        assertSame(user, index.get(key));
+        assertNull(index.get(UserKey.encode("C", "99999999")));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testPut_ReplacesExistingKey() {
+        LongUserIndex index = new LongUserIndex(4);
+        long key = UserKey.encode("C", "23445322");
+        UserResponse updated = UserResponse.builder().firstName("Ricardo").build();
+
+        index.put(key, UserResponse.builder().firstName("Daniel").build());
+        assertFalse(index.put(key, updated));
+
+        assertSame(updated, index.get(key));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testPut_GrowsBeyondExpectedSize() {
+        LongUserIndex index = new LongUserIndex(1);
+        for (int i = 0; i < 10_000; i++) {
+            index.put(UserKey.encode("C", String.valueOf(1_000_000 + i)),
+                    UserResponse.builder().phone(String.valueOf(i)).build());
+        }
+
+        assertEquals(10_000, index.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(String.valueOf(i), index.get(UserKey.encode("C", String.valueOf(1_000_000 + i))).getPhone());
+        }
+    }
+
+    @Test
+    void testGet_InvalidKey() {
+        LongUserIndex index = new LongUserIndex(4);
+
+        assertNull(index.get(UserKey.INVALID));
+    }
+
+    @Test
+    void testPut_InvalidKey() {
+        LongUserIndex index = new LongUserIndex(4);
+        UserResponse user = UserResponse.builder().build();
+
+        assertThrows(IllegalArgumentException.class, () -> index.put(UserKey.INVALID, user));
+    }
+
+    @Test
+    void testKeys_Snapshot() {
+        LongUserIndex index = new LongUserIndex(4);
+        UserResponse user = UserResponse.builder().firstName("Daniel").build();
+        for (int i = 0; i < 10; i++) {
+            index.put(UserKey.encode("C", String.valueOf(1000 + i)), user);
+        }
+
+        long[] keys = index.keys();
+
+        assertEquals(10, keys.length);
+        for (long key : keys) {
+            assertSame(user, index.get(key));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package co.com.prueba.adapter.metrics;
+
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredUserRepositoryDecoratorTest {
+
+    private final UserResponse user = UserResponse.builder().firstName("Daniel").build();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final UserRepository delegate = request -> "23445322".equals(request.getDocumentNumber())
+            ? Mono.just(user)
+            : Mono.error(UserRepository.USER_NOT_FOUND_ERROR);
+
+    private final MeteredUserRepositoryDecorator decorator =
+            new MeteredUserRepositoryDecorator(delegate, registry, "in-memory");
+
+    @Test
+    void testFindByUser_RecordsOutcomeByAdapter() {
+        StepVerifier.create(decorator.findByUser(new UserRequest("C", "23445322"))).expectNext(user).verifyComplete();
+        StepVerifier.create(decorator.findByUser(new UserRequest("C", "1000"))).verifyErrorMatches(e -> e == UserRepository.USER_NOT_FOUND_ERROR);
+
+        assertEquals(1, registry.get(StageMetrics.TIMER)
+                .tags("stage", MeteredUserRepositoryDecorator.STAGE, "adapter", "in-memory", "outcome", StageMetrics.FOUND)
+                .timer().count());
+        assertEquals(1, registry.get(StageMetrics.TIMER)
+                .tags("stage", MeteredUserRepositoryDecorator.STAGE, "adapter", "in-memory", "outcome", StageMetrics.NOT_FOUND)
+                .timer().count());
+        assertEquals(0, decorator.metrics().inFlight());
+    }
+
+    @Test
+    void testFindByUsers_CountsResultsByStatus() {
+        StepVerifier.create(decorator.findByUsers(Flux.just(
+                        new UserRequest("C", "23445322"), new UserRequest("C", "1000"), new UserRequest("C", "1001"))))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertEquals(1, registry.get(MeteredUserRepositoryDecorator.BATCH_RESULTS).tag("outcome", "found").counter().count());
+        assertEquals(2, registry.get(MeteredUserRepositoryDecorator.BATCH_RESULTS).tag("outcome", "not-found").counter().count());
+    }
+}
@@ -0,0 +1,72 @@
+package co.com.prueba.adapter.metrics;
+
+import co.com.prueba.model.exception.CustomException;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StageMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StageMetrics metrics = new StageMetrics(registry, "test", Tags.of("adapter", "stub"));
+
+    private long count(String outcome) {
+        return registry.get(StageMetrics.TIMER).tags("stage", "test", "adapter", "stub", "outcome", outcome).timer().count();
+    }
+
+    @Test
+    void testRecord_ClassifiesOutcomes() {
+        StepVerifier.create(metrics.record(() -> Mono.just("ok"))).expectNext("ok").verifyComplete();
+        StepVerifier.create(metrics.record(Mono::empty)).verifyComplete();
+        StepVerifier.create(metrics.record(() -> Mono.error(new CustomException(HttpStatus.NOT_FOUND, "x")))).verifyError();
+        StepVerifier.create(metrics.record(() -> Mono.error(new CustomException(HttpStatus.BAD_REQUEST, "x")))).verifyError();
+        StepVerifier.create(metrics.record(() -> Mono.error(new IllegalStateException()))).verifyError();
+
+        assertEquals(1, count(StageMetrics.FOUND));
+        assertEquals(2, count(StageMetrics.NOT_FOUND));
+        assertEquals(1, count(StageMetrics.BAD_REQUEST));
+        assertEquals(1, count(StageMetrics.ERROR));
+    }
+
+    @Test
+    void testRecord_SupplierIsInvokedPerSubscription() {
+        int[] calls = {0};
+        Mono<String> mono = metrics.record(() -> {
+            calls[0]++;
+            return Mono.just("ok");
+        });
+
+        assertEquals(0, calls[0]);
+        mono.block();
+        mono.block();
+
+        assertEquals(2, calls[0]);
+        assertEquals(2, count(StageMetrics.FOUND));
+    }
+
+    @Test
+    void testRecord_TracksInFlightAndCancel() {
+        Sinks.One<String> sink = Sinks.one();
+
+        var disposable = metrics.record(sink::asMono).subscribe();
+        assertEquals(1, metrics.inFlight());
+        assertEquals(1, registry.get(StageMetrics.IN_FLIGHT).tag("stage", "test").gauge().value());
+
+        disposable.dispose();
+
+        assertEquals(0, metrics.inFlight());
+        assertEquals(0, count(StageMetrics.FOUND) + count(StageMetrics.NOT_FOUND) + count(StageMetrics.ERROR));
+    }
+
+    @Test
+    void testTimer_ByOutcome() {
+        assertEquals("bad-request", metrics.timer(StageMetrics.BAD_REQUEST).getId().getTag("outcome"));
+        assertEquals("error", metrics.timer("otro").getId().getTag("outcome"));
+    }
+}
@@ -0,0 +1,102 @@
+package co.com.prueba.adapter.mmap;
+
+import co.com.prueba.config.UseCaseScanConfig;
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.LookupStatus;
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.support.TestPropertySourceUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedUserAdapterTest {
+
+    @TempDir
+    Path directory;
+
+    private Path path;
+    private MappedUserAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = directory.resolve("users.bin");
+        try (MappedUserFileWriter writer = new MappedUserFileWriter(path)) {
+            writer.add(new UserRequest("C", "23445322"), UserResponse.builder()
+                    .firstName("Daniel")
+                    .secondName("Ricardo")
+                    .firstLastName("Buritica")
+                    .secondLastName("Junco")
+                    .phone("3217570485")
+                    .address("Calle falsa 123")
+                    .residenceCity("Bogota")
+                    .build());
+        }
+        adapter = new MappedUserAdapter(path);
+    }
+
+    @Test
+    void testFindByUser_Success() {
+        StepVerifier.create(adapter.findByUser(new UserRequest("C", "23445322")))
+                .assertNext(userResponse -> {
+                    assertEquals("Daniel", userResponse.getFirstName());
+                    assertEquals("Ricardo", userResponse.getSecondName());
+                    assertEquals("Buritica", userResponse.getFirstLastName());
+                    assertEquals("Junco", userResponse.getSecondLastName());
+                    assertEquals("3217570485", userResponse.getPhone());
+                    assertEquals("Calle falsa 123", userResponse.getAddress());
+                    assertEquals("Bogota", userResponse.getResidenceCity());
+                })
+                .verifyComplete();
+        assertEquals(1, adapter.size());
+    }
+
+    @Test
+    void testFindByUser_NotFound() {
+        StepVerifier.create(adapter.findByUser(new UserRequest("P", "23445322")))
+                .verifyErrorMatches(throwable -> throwable instanceof CustomException customException
+                        && customException.getStatus() == HttpStatus.NOT_FOUND
+                        && MappedUserAdapter.USER_NOT_FOUND.equals(customException.getMessage()));
+    }
+
+    @Test
+    void testComponentScan_SelectsMappedAdapter() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        TestPropertySourceUtils.addInlinedPropertiesToEnvironment(context,
+                "adapter.user.type=mmap", "adapter.user.mmap.path=" + path);
+        context.register(UseCaseScanConfig.class);
+        context.refresh();
+
+        assertInstanceOf(MappedUserAdapter.class, context.getBean(UserRepository.class));
+
+        context.close();
+    }
+
+    @Test
+    void testFindByUsers_MultiGet() {
+        StepVerifier.create(adapter.findByUsers(Flux.just(
+                        new UserRequest("C", "23445322"), new UserRequest("C", "99999999"))))
+                .assertNext(result -> assertEquals(LookupStatus.FOUND, result.getStatus()))
+                .assertNext(result -> assertEquals(LookupStatus.NOT_FOUND, result.getStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testUserKeys_ReadsIndex() {
+        StepVerifier.create(adapter.userKeys())
+                .expectNext(UserKey.encode("C", "23445322"))
+                .verifyComplete();
+        StepVerifier.create(adapter.userCount()).expectNext(1L).verifyComplete();
+    }
+}
@@ -0,0 +1,118 @@
+package co.com.prueba.adapter.mmap;
+
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedUserFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWriteAndFind() throws IOException {
+        Path path = directory.resolve("users.bin");
+        try (MappedUserFileWriter writer = new MappedUserFileWriter(path)) {
+            writer.add(new UserRequest("P", "AB123456"), user("Ana", "Medellín"));
+            writer.add(new UserRequest("C", "23445322"), user("Daniel", "Bogota"));
+        }
+
+        MappedUserFile file = MappedUserFile.open(path);
+
+        assertEquals(2, file.size());
+        UserResponse daniel = file.find(UserKey.encode("C", "23445322"));
+        assertEquals("Daniel", daniel.getFirstName());
+        assertEquals("Bogota", daniel.getResidenceCity());
+        assertEquals("", daniel.getSecondName());
+        assertEquals("Medellín", file.find(UserKey.encode("P", "AB123456")).getResidenceCity());
+        assertNull(file.find(UserKey.encode("C", "99999999")));
+        assertNull(file.find(UserKey.INVALID));
+    }
+
+    @Test
+    void testRecordsDoNotCrossChunks() throws IOException {
+        Path path = directory.resolve("chunks.bin");
+        try (MappedUserFileWriter writer = new MappedUserFileWriter(path, 8)) {
+            for (int i = 0; i < 500; i++) {
+                writer.add(new UserRequest("C", String.valueOf(5_000 - i)), user("Usuario" + i, "Ciudad" + i));
+            }
+        }
+
+        MappedUserFile file = MappedUserFile.open(path);
+
+        assertEquals(500, file.size());
+        for (int i = 0; i < 500; i++) {
+            UserResponse userResponse = file.find(UserKey.encode("C", String.valueOf(5_000 - i)));
+            assertEquals("Usuario" + i, userResponse.getFirstName());
+            assertEquals("Ciudad" + i, userResponse.getResidenceCity());
+        }
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        Path path = directory.resolve("empty.bin");
+        new MappedUserFileWriter(path).close();
+
+        MappedUserFile file = MappedUserFile.open(path);
+
+        assertEquals(0, file.size());
+        assertNull(file.find(UserKey.encode("C", "23445322")));
+    }
+
+    @Test
+    void testDuplicateDocument() throws IOException {
+        Path path = directory.resolve("duplicate.bin");
+        MappedUserFileWriter writer = new MappedUserFileWriter(path);
+        writer.add(new UserRequest("C", "23445322"), user("Daniel", "Bogota"));
+        writer.add(new UserRequest("c", "23445322"), user("Otro", "Cali"));
+
+        assertThrows(IOException.class, writer::close);
+    }
+
+    @Test
+    void testInvalidDocument() throws IOException {
+        try (MappedUserFileWriter writer = new MappedUserFileWriter(directory.resolve("invalid.bin"))) {
+            UserRequest request = new UserRequest("X", "1");
+            UserResponse userResponse = user("Daniel", "Bogota");
+
+            assertThrows(IllegalArgumentException.class, () -> writer.add(request, userResponse));
+        }
+    }
+
+    @Test
+    void testOpen_UnknownFormat() throws IOException {
+        Path path = directory.resolve("other.bin");
+        Files.write(path, new byte[MappedUserFile.HEADER_SIZE]);
+
+        assertThrows(IOException.class, () -> MappedUserFile.open(path));
+    }
+
+    @Test
+    void testMain_FromCsv() throws IOException {
+        Path csv = directory.resolve("users.csv");
+        Path path = directory.resolve("main.bin");
+        Files.writeString(csv, "C;23445322;Daniel;Ricardo;Buritica;Junco;3217570485;Calle falsa 123;Bogota\n");
+
+        MappedUserFileWriter.main(new String[]{csv.toString(), path.toString()});
+
+        assertEquals("Junco", MappedUserFile.open(path).find(UserKey.encode("C", "23445322")).getSecondLastName());
+    }
+
+    private UserResponse user(String firstName, String city) {
+        return UserResponse.builder()
+                .firstName(firstName)
+                .firstLastName("Apellido")
+                .phone("3000000000")
+                .address("Calle 1")
+                .residenceCity(city)
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package co.com.prueba.adapter.r2dbc;
+
+import co.com.prueba.config.UserRepositoryProperties;
+import co.com.prueba.model.user.LookupStatus;
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.io.ClassPathResource;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class R2dbcUserAdapterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private R2dbcUserAdapter adapter;
+
+    private UserResponse user(String firstName) {
+        return UserResponse.builder()
+                .firstName(firstName)
+                .secondName("Ricardo")
+                .firstLastName("Buritica")
+                .secondLastName("Junco")
+                .phone("3217570485")
+                .address("Calle falsa 123")
+                .residenceCity("Bogota")
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var properties = new UserRepositoryProperties();
+        properties.getR2dbc().setUrl("r2dbc:h2:mem:///" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        properties.getR2dbc().setBatchSize(4);
+        properties.getR2dbc().getPool().setInitialSize(1);
+        properties.getR2dbc().getPool().setMaxSize(4);
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", registry);
+        adapter = new R2dbcUserAdapter(properties, beanFactory.getBeanProvider(MeterRegistry.class));
+
+        var schema = new ClassPathResource("db/users-schema.sql").getContentAsString(StandardCharsets.UTF_8);
+        adapter.execute(schema.replaceAll("(?m)^--.*$", "")).block();
+        adapter.put(new UserRequest("C", "23445322"), user("Daniel")).block();
+        adapter.put(new UserRequest("P", "AB12345"), user("Ricardo")).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        adapter.close();
+    }
+
+    @Test
+    void testFindByUser_Found() {
+        StepVerifier.create(adapter.findByUser(new UserRequest("C", "23445322")))
+                .assertNext(userResponse -> {
+                    assertEquals("Daniel", userResponse.getFirstName());
+                    assertEquals("Bogota", userResponse.getResidenceCity());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindByUser_NotFound() {
+        StepVerifier.create(adapter.findByUser(new UserRequest("C", "1000")))
+                .verifyErrorMatches(error -> error == UserRepository.USER_NOT_FOUND_ERROR);
+    }
+
+    @Test
+    void testFindByUser_InvalidKeyDoesNotQuery() {
+        StepVerifier.create(adapter.findByUser(new UserRequest("C", "12-34")))
+                .verifyErrorMatches(error -> error == UserRepository.USER_NOT_FOUND_ERROR);
+    }
+
+    @Test
+    void testFindByUsers_KeepsOrderAcrossBatches() {
+        var requests = IntStream.range(0, 10)
+                .mapToObj(i -> i == 3 ? new UserRequest("C", "23445322")
+                        : i == 8 ? new UserRequest("p", "ab12345")
+                        : new UserRequest("C", String.valueOf(1000 + i)))
+                .toList();
+
+        StepVerifier.create(adapter.findByUsers(Flux.fromIterable(requests)).collectList())
+                .assertNext(results -> {
+                    assertEquals(10, results.size());
+                    for (int i = 0; i < results.size(); i++) {
+                        UserLookupResult result = results.get(i);
+                        assertSame(requests.get(i).getDocumentNumber(), result.getDocumentNumber());
+                        assertEquals(i == 3 || i == 8 ? LookupStatus.FOUND : LookupStatus.NOT_FOUND, result.getStatus());
+                    }
+                    assertEquals("Ricardo", results.get(8).getUser().getFirstName());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testPut_RejectsInvalidKey() {
+        StepVerifier.create(adapter.put(new UserRequest("X", "1"), user("Daniel")))
+                .verifyError(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testPut_NullOptionalFields() {
+        var partial = UserResponse.builder().firstName("Ana").firstLastName("Gomez").build();
+
+        adapter.put(new UserRequest("C", "555"), partial).block();
+
+        StepVerifier.create(adapter.findByUser(new UserRequest("C", "555")))
+                .assertNext(userResponse -> {
+                    assertEquals("Ana", userResponse.getFirstName());
+                    assertNull(userResponse.getSecondName());
+                    assertNull(userResponse.getResidenceCity());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testPoolMetrics() {
+        adapter.findByUser(new UserRequest("C", "23445322")).block();
+
+        assertTrue(registry.get(R2dbcUserAdapter.ACQUIRE_TIMER).tag("name", R2dbcUserAdapter.POOL_NAME).timer().count() > 0);
+        assertNotNull(registry.get("r2dbc.pool.idle").tag("name", R2dbcUserAdapter.POOL_NAME).gauge());
+        assertNotNull(registry.get("r2dbc.pool.pending").tag("name", R2dbcUserAdapter.POOL_NAME).gauge());
+        assertEquals(0, adapter.pool().getMetrics().orElseThrow().acquiredSize());
+    }
+
+    @Test
+    void testUserKeys_AndListener() {
+        List<Long> added = new ArrayList<>();
+        adapter.addUserKeyListener(added::add);
+
+        adapter.put(new UserRequest("C", "1000"), user("Nuevo")).block();
+
+        assertEquals(List.of(UserKey.encode("C", "1000")), added);
+        StepVerifier.create(adapter.userCount()).expectNext(3L).verifyComplete();
+        StepVerifier.create(adapter.userKeys().collectList())
+                .assertNext(keys -> assertEquals(3, keys.size()))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,207 @@
+package co.com.prueba.adapter.resilience;
+
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StaleWhileRevalidateDecoratorTest {
+
+    private static final Duration REFRESH_AFTER = Duration.ofSeconds(30);
+    private static final Duration MAX_STALE = Duration.ofHours(1);
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong time = new AtomicLong();
+    private final UserRequest request = new UserRequest("C", "23445322");
+    private final UserResponse daniel = UserResponse.builder().firstName("Daniel").build();
+    private final UserResponse ricardo = UserResponse.builder().firstName("Ricardo").build();
+    private CircuitBreaker circuitBreaker;
+    private StaleWhileRevalidateDecorator decorator;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordException(StaleWhileRevalidateDecorator::isFailure)
+                .build());
+        decorator = new StaleWhileRevalidateDecorator(userRepository, circuitBreaker, Duration.ofMillis(100),
+                REFRESH_AFTER, MAX_STALE, 10, time::get);
+    }
+
+    private void advance(Duration duration) {
+        time.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void testFindByUser_FreshEntryAvoidsBackend() {
+        when(userRepository.findByUser(any())).thenReturn(Mono.just(daniel));
+
+        StepVerifier.create(decorator.findByUser(request)).expectNext(daniel).verifyComplete();
+        advance(Duration.ofSeconds(10));
+        StepVerifier.create(decorator.findByUser(request)).expectNext(daniel).verifyComplete();
+
+        verify(userRepository, times(1)).findByUser(any());
+    }
+
+    @Test
+    void testFindByUser_StaleEntryIsServedAndRefreshed() {
+        when(userRepository.findByUser(any())).thenReturn(Mono.just(daniel), Mono.just(ricardo));
+        decorator.findByUser(request).block();
+        advance(REFRESH_AFTER);
+
+        StepVerifier.create(decorator.findByUser(request)).expectNext(daniel).verifyComplete();
+        StepVerifier.create(decorator.findByUser(request)).expectNext(ricardo).verifyComplete();
+
+        verify(userRepository, times(2)).findByUser(any());
+    }
+
+    @Test
+    void testFindByUser_FailedRefreshKeepsLastKnownGood() {
+        var registry = new SimpleMeterRegistry();
+        decorator.bindTo(registry);
+        when(userRepository.findByUser(any()))
+                .thenReturn(Mono.just(daniel), Mono.error(new IllegalStateException("Backend caido")));
+        decorator.findByUser(request).block();
+        advance(REFRESH_AFTER);
+
+        StepVerifier.create(decorator.findByUser(request)).expectNext(daniel).verifyComplete();
+        StepVerifier.create(decorator.findByUser(request)).expectNext(daniel).verifyComplete();
+
+        verify(userRepository, times(3)).findByUser(any());
+        assertEquals(2.0, registry.get(StaleWhileRevalidateDecorator.METRIC_PREFIX + ".refresh.failures").counter().count());
+        assertEquals(1.0, registry.get(StaleWhileRevalidateDecorator.METRIC_PREFIX + ".entries").gauge().value());
+    }
+
+    @Test
+    void testFindByUser_NotFoundOnRefreshDropsEntry() {
+        when(userRepository.findByUser(any()))
+                .thenReturn(Mono.just(daniel), Mono.error(UserRepository.USER_NOT_FOUND_ERROR));
+        decorator.findByUser(request).block();
+        advance(REFRESH_AFTER);
+
+        StepVerifier.create(decorator.findByUser(request)).expectNext(daniel).verifyComplete();
+        StepVerifier.create(decorator.findByUser(request))
+                .verifyErrorMatches(error -> error == UserRepository.USER_NOT_FOUND_ERROR);
+    }
+
+    @Test
+    void testFindByUser_EntryExpiresAfterMaxStale() {
+        when(userRepository.findByUser(any()))
+                .thenReturn(Mono.just(daniel), Mono.error(new IllegalStateException("Backend caido")));
+        decorator.findByUser(request).block();
+        advance(MAX_STALE);
+
+        StepVerifier.create(decorator.findByUser(request))
+                .verifyErrorMatches(error -> error == StaleWhileRevalidateDecorator.UNAVAILABLE_ERROR);
+    }
+
+    @Test
+    void testFindByUser_TimeoutIsUnavailable() {
+        when(userRepository.findByUser(any())).thenReturn(Mono.never());
+
+        StepVerifier.create(decorator.findByUser(request))
+                .verifyErrorMatches(error -> error == StaleWhileRevalidateDecorator.UNAVAILABLE_ERROR);
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void testFindByUser_NotFoundDoesNotOpenCircuit() {
+        when(userRepository.findByUser(any())).thenReturn(Mono.error(UserRepository.USER_NOT_FOUND_ERROR));
+
+        for (int i = 0; i < 6; i++) {
+            StepVerifier.create(decorator.findByUser(new UserRequest("C", String.valueOf(i))))
+                    .verifyErrorMatches(error -> error == UserRepository.USER_NOT_FOUND_ERROR);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, decorator.state());
+    }
+
+    @Test
+    void testFindByUser_OpenCircuitFailsFastAndServesLastKnownGood() {
+        when(userRepository.findByUser(any())).thenReturn(Mono.just(daniel));
+        decorator.findByUser(request).block();
+        when(userRepository.findByUser(any()))
+                .thenReturn(Mono.error(new CustomException(HttpStatus.BAD_GATEWAY, "Fallo")));
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(decorator.findByUser(new UserRequest("C", String.valueOf(i))))
+                    .verifyErrorMatches(error -> error == StaleWhileRevalidateDecorator.UNAVAILABLE_ERROR);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, decorator.state());
+        advance(REFRESH_AFTER);
+
+        StepVerifier.create(decorator.findByUser(new UserRequest("C", "99")))
+                .verifyErrorMatches(error -> error == StaleWhileRevalidateDecorator.UNAVAILABLE_ERROR);
+        StepVerifier.create(decorator.findByUser(request)).expectNext(daniel).verifyComplete();
+
+        verify(userRepository, never()).findByUser(argThat(lookup -> "99".equals(lookup.getDocumentNumber())));
+    }
+
+    @Test
+    void testFindByUsers_TimeoutIsUnavailable() {
+        when(userRepository.findByUsers(any())).thenReturn(Flux.never());
+
+        StepVerifier.create(decorator.findByUsers(Flux.just(request)))
+                .verifyErrorMatches(error -> error == StaleWhileRevalidateDecorator.UNAVAILABLE_ERROR);
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void testFindByUsers_SlowConsumerIsNotUnavailable() {
+        when(userRepository.findByUsers(any())).thenAnswer(invocation -> invocation.<Flux<UserRequest>>getArgument(0)
+                .map(lookup -> UserLookupResult.found(lookup, daniel)));
+        var requests = Flux.range(0, StaleWhileRevalidateDecorator.CHUNK_SIZE + 2)
+                .map(i -> new UserRequest("C", String.valueOf(1000 + i)));
+
+        StepVerifier.create(decorator.findByUsers(requests), 1)
+                .expectNextCount(1)
+                .thenAwait(Duration.ofMillis(300))
+                .thenRequest(1)
+                .expectNextCount(1)
+                .thenAwait(Duration.ofMillis(300))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(StaleWhileRevalidateDecorator.CHUNK_SIZE)
+                .verifyComplete();
+
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(2, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    void testFindByUsers_OpenCircuitIsUnavailable() {
+        circuitBreaker.transitionToOpenState();
+
+        StepVerifier.create(decorator.findByUsers(Flux.just(request)))
+                .verifyErrorMatches(error -> error == StaleWhileRevalidateDecorator.UNAVAILABLE_ERROR);
+        verify(userRepository, never()).findByUsers(any());
+    }
+}
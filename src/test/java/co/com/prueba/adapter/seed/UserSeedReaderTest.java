@@ -0,0 +1,50 @@
+package co.com.prueba.adapter.seed;
+
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserSeedReaderTest {
+
+    @Test
+    void testRead_SkipsHeaderCommentsAndBlankLines() throws IOException {
+        String content = """
+                documentType;documentNumber;firstName;secondName;firstLastName;secondLastName;phone;address;residenceCity
+                # comentario
+
+                C;23445322;Daniel;Ricardo;Buritica;Junco;3217570485;Calle falsa 123;Bogota
+                """;
+        List<UserRequest> requests = new ArrayList<>();
+        List<UserResponse> responses = new ArrayList<>();
+
+        long count = UserSeedReader.read(resource(content), (request, response) -> {
+            requests.add(request);
+            responses.add(response);
+        });
+
+        assertEquals(1, count);
+        assertEquals("C", requests.get(0).getDocumentType());
+        assertEquals("23445322", requests.get(0).getDocumentNumber());
+        assertEquals("Daniel", responses.get(0).getFirstName());
+        assertEquals("Bogota", responses.get(0).getResidenceCity());
+    }
+
+    @Test
+    void testRead_WrongColumnCount() {
+        ByteArrayResource resource = resource("C;23445322;Daniel\n");
+
+        assertThrows(IOException.class, () -> UserSeedReader.read(resource, (request, response) -> { }));
+    }
+
+    private ByteArrayResource resource(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
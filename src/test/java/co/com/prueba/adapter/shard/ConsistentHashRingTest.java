@@ -0,0 +1,89 @@
+package co.com.prueba.adapter.shard;
+
+import co.com.prueba.model.user.UserKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    private static ConsistentHashRing<String> ring(int shards) {
+        var map = new LinkedHashMap<String, String>();
+        for (int i = 0; i < shards; i++) {
+            map.put("shard-" + i, "db-" + i);
+        }
+        return new ConsistentHashRing<>(map, 128);
+    }
+
+    private static long key(int i) {
+        return UserKey.encode("C", String.valueOf(10_000_000 + i));
+    }
+
+    @Test
+    void testShardOf_SpreadsKeysEvenly() {
+        var ring = ring(4);
+        var counts = new HashMap<String, Integer>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.shardOf(key(i)), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertTrue(Math.abs(count - KEYS / 4) < KEYS / 4 * 0.2,
+                "Reparto desbalanceado: " + counts));
+    }
+
+    @Test
+    void testWith_MovesOnlyKeysToNewShard() {
+        var before = ring(4);
+        var after = before.with("shard-4", "db-4");
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            var previous = before.shardOf(key(i));
+            var current = after.shardOf(key(i));
+            if (!previous.equals(current)) {
+                assertEquals("shard-4", current);
+                moved++;
+            }
+        }
+
+        assertTrue(Math.abs(moved - KEYS / 5) < KEYS / 5 * 0.2, "Llaves movidas: " + moved);
+        assertEquals(4, before.shards().size());
+        assertEquals("db-4", after.get("shard-4"));
+    }
+
+    @Test
+    void testWithout_MovesOnlyKeysOfRemovedShard() {
+        var before = ring(4);
+        var after = before.without("shard-2");
+        for (int i = 0; i < KEYS; i++) {
+            var previous = before.shardOf(key(i));
+            if (!previous.equals("shard-2")) {
+                assertEquals(previous, after.shardOf(key(i)));
+            }
+        }
+        assertNull(after.get("shard-2"));
+    }
+
+    @Test
+    void testShardOf_DependsOnlyOnShardNames() {
+        var forward = ring(3);
+        var reverse = new ConsistentHashRing<>(Map.of("shard-2", "x", "shard-1", "y", "shard-0", "z"), 128);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(forward.shardOf(key(i)), reverse.shardOf(key(i)));
+        }
+        assertEquals(forward.get(forward.shardOf(key(7))), forward.route(key(7)));
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing<>(Map.of(), 16));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing<>(Map.of("a", 1), 0));
+    }
+}
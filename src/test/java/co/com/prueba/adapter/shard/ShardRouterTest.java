@@ -0,0 +1,321 @@
+package co.com.prueba.adapter.shard;
+
+import co.com.prueba.adapter.metrics.StageMetrics;
+import co.com.prueba.model.user.LookupStatus;
+import co.com.prueba.model.user.UserKey;
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserKeySource;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRouterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    /**
+     * Shard que responde con su nombre como primer nombre, opcionalmente despues de {@code latency}, y
+     * guarda cada lote recibido.
+     */
+    private static class StubShard implements UserRepository, UserKeySource {
+        private final String name;
+        private final Duration latency;
+        private final VirtualTimeScheduler scheduler;
+        private final AtomicInteger lookups = new AtomicInteger();
+        private final List<List<UserRequest>> batches = new CopyOnWriteArrayList<>();
+        private final List<LongConsumer> listeners = new ArrayList<>();
+
+        private StubShard(String name) {
+            this(name, Duration.ZERO, null);
+        }
+
+        private StubShard(String name, Duration latency, VirtualTimeScheduler scheduler) {
+            this.name = name;
+            this.latency = latency;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public Mono<UserResponse> findByUser(UserRequest request) {
+            lookups.incrementAndGet();
+            var user = Mono.just(UserResponse.builder().firstName(name).build());
+            return scheduler == null ? user : user.delaySubscription(latency, scheduler);
+        }
+
+        @Override
+        public Flux<UserLookupResult> findByUsers(Flux<UserRequest> requests) {
+            return requests.collectList()
+                    .doOnNext(batches::add)
+                    .flatMapMany(batch -> {
+                        var results = Flux.fromIterable(batch)
+                                .filter(request -> !request.getDocumentNumber().startsWith("9"))
+                                .map(request -> UserLookupResult.found(request,
+                                        UserResponse.builder().firstName(name).build()));
+                        return scheduler == null ? results : results.delaySubscription(latency, scheduler);
+                    });
+        }
+
+        @Override
+        public Mono<Long> userCount() {
+            return Mono.just(10L);
+        }
+
+        @Override
+        public Flux<Long> userKeys() {
+            return Flux.just(UserKey.encode("C", name.substring(name.length() - 1)));
+        }
+
+        @Override
+        public void addUserKeyListener(LongConsumer listener) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Shard que cuenta cuantas veces lo cierran.
+     */
+    private static class ClosableShard extends StubShard implements Closeable {
+        private final AtomicInteger closed = new AtomicInteger();
+
+        private ClosableShard(String name) {
+            super(name);
+        }
+
+        private ClosableShard(String name, Duration latency, VirtualTimeScheduler scheduler) {
+            super(name, latency, scheduler);
+        }
+
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+
+    private static Map<String, UserRepository> shards(UserRepository... shards) {
+        var map = new LinkedHashMap<String, UserRepository>();
+        for (int i = 0; i < shards.length; i++) {
+            map.put("shard-" + i, shards[i]);
+        }
+        return map;
+    }
+
+    private static List<UserRequest> requests(int size) {
+        var requests = new ArrayList<UserRequest>();
+        for (int i = 0; i < size; i++) {
+            requests.add(new UserRequest("C", String.valueOf(1_000_000 + i)));
+        }
+        return requests;
+    }
+
+    @Test
+    void testFindByUser_RoutesToOwningShard() {
+        var first = new StubShard("shard-0");
+        var second = new StubShard("shard-1");
+        var router = new ShardRouter(shards(first, second), 64, 16);
+        router.bindTo(registry);
+
+        for (var request : requests(50)) {
+            var owner = router.shardOf(request);
+            StepVerifier.create(router.findByUser(request))
+                    .assertNext(user -> assertEquals(owner, user.getFirstName()))
+                    .verifyComplete();
+        }
+
+        assertTrue(first.lookups.get() > 0 && second.lookups.get() > 0);
+        assertEquals(first.lookups.get(), new StageMetrics(registry, ShardRouter.STAGE,
+                Tags.of("shard", "shard-0")).timer(StageMetrics.FOUND).count());
+    }
+
+    @Test
+    void testFindByUser_InvalidKeyIsNotFound() {
+        var shard = new StubShard("shard-0");
+        var router = new ShardRouter(shards(shard), 16, 16);
+
+        StepVerifier.create(router.findByUser(new UserRequest("C", "12-34")))
+                .verifyErrorMatches(error -> error == UserRepository.USER_NOT_FOUND_ERROR);
+        assertEquals(0, shard.lookups.get());
+    }
+
+    @Test
+    void testFindByUsers_SplitsPerShardAndKeepsRequestOrder() {
+        var first = new StubShard("shard-0");
+        var second = new StubShard("shard-1");
+        var third = new StubShard("shard-2");
+        var router = new ShardRouter(shards(first, second, third), 64, 1000);
+        router.bindTo(registry);
+        var requests = requests(300);
+        requests.add(5, new UserRequest("C", "9000"));
+        requests.add(10, new UserRequest("C", "12-34"));
+
+        var results = router.findByUsers(Flux.fromIterable(requests)).collectList().block();
+
+        assertEquals(requests.size(), results.size());
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(requests.get(i).getDocumentNumber(), results.get(i).getDocumentNumber());
+        }
+        assertEquals(LookupStatus.NOT_FOUND, results.get(5).getStatus());
+        assertEquals(LookupStatus.NOT_FOUND, results.get(10).getStatus());
+        assertEquals(router.shardOf(requests.get(0)), results.get(0).getUser().getFirstName());
+        for (var shard : List.of(first, second, third)) {
+            assertEquals(1, shard.batches.size());
+            shard.batches.get(0).forEach(request -> assertEquals(shard.name, router.shardOf(request)));
+        }
+        assertEquals(1, registry.get(ShardRouter.BATCH_TIMER).tag("shard", "shard-1").timer().count());
+    }
+
+    @Test
+    void testFindByUsers_QueriesShardsInParallel() throws Exception {
+        var scheduler = VirtualTimeScheduler.create();
+        var first = new StubShard("shard-0", Duration.ofMillis(100), scheduler);
+        var second = new StubShard("shard-1", Duration.ofMillis(100), scheduler);
+        var router = new ShardRouter(shards(first, second), 64, 1000);
+
+        var future = router.findByUsers(Flux.fromIterable(requests(100))).collectList().toFuture();
+        scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+        assertEquals(100, future.get(1, TimeUnit.SECONDS).size());
+        assertEquals(1, first.batches.size());
+        assertEquals(1, second.batches.size());
+    }
+
+    @Test
+    void testFindByUsers_SplitsIntoChunks() {
+        var shard = new StubShard("shard-0");
+        var router = new ShardRouter(shards(shard), 16, 32);
+
+        StepVerifier.create(router.findByUsers(Flux.fromIterable(requests(100))))
+                .expectNextCount(100)
+                .verifyComplete();
+
+        assertEquals(List.of(32, 32, 32, 4), shard.batches.stream().map(List::size).toList());
+    }
+
+    @Test
+    void testAddShard_TakesOverPartOfTheKeys() {
+        var router = new ShardRouter(shards(new StubShard("shard-0"), new StubShard("shard-1")), 128, 64);
+        router.bindTo(registry);
+        var requests = requests(1_000);
+        var before = requests.stream().map(router::shardOf).toList();
+
+        router.addShard("shard-2", new StubShard("shard-2"));
+
+        int moved = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            var owner = router.shardOf(requests.get(i));
+            if (!owner.equals(before.get(i))) {
+                assertEquals("shard-2", owner);
+                moved++;
+            }
+        }
+        assertTrue(moved > 200 && moved < 470, "Llaves movidas: " + moved);
+        assertNotNull(registry.find(ShardRouter.BATCH_TIMER).tag("shard", "shard-2").timer());
+
+        router.removeShard("shard-2");
+        assertEquals(before, requests.stream().map(router::shardOf).toList());
+    }
+
+    @Test
+    void testRemoveShard_ClosesOwnedShard() {
+        var owned = new ClosableShard("shard-1");
+        var router = new ShardRouter(shards(new StubShard("shard-0"), owned), Set.of("shard-1"), 16, 16);
+
+        router.removeShard("shard-1");
+
+        assertEquals(1, owned.closed.get());
+        assertEquals(List.of("shard-0"), List.copyOf(router.shards().keySet()));
+    }
+
+    @Test
+    void testRemoveShard_DoesNotCloseShardItDoesNotOwn() {
+        var notOwned = new ClosableShard("shard-0");
+        var router = new ShardRouter(shards(notOwned, new StubShard("shard-1")), Set.of("shard-1"), 16, 16);
+
+        router.removeShard("shard-0");
+        router.close();
+
+        assertEquals(0, notOwned.closed.get());
+    }
+
+    @Test
+    void testRemoveShard_WaitsForInFlightLookup() throws Exception {
+        var scheduler = VirtualTimeScheduler.create();
+        var owned = new ClosableShard("shard-0", Duration.ofMillis(100), scheduler);
+        var router = new ShardRouter(shards(owned, new StubShard("shard-1")), Set.of("shard-0"), 16, 16);
+        router.bindTo(registry);
+        var onShard = requests(100).stream().filter(request -> router.shardOf(request).equals("shard-0")).toList();
+
+        var lookup = router.findByUser(onShard.get(0)).toFuture();
+        var batch = router.findByUsers(Flux.fromIterable(onShard.subList(0, 10))).collectList().toFuture();
+        scheduler.advanceTimeBy(Duration.ofMillis(50));
+        router.removeShard("shard-0");
+
+        assertEquals(0, owned.closed.get());
+        scheduler.advanceTimeBy(Duration.ofMillis(50));
+        assertEquals("shard-0", lookup.get(1, TimeUnit.SECONDS).getFirstName());
+        assertEquals(10, batch.get(1, TimeUnit.SECONDS).size());
+        assertEquals(1, owned.closed.get());
+    }
+
+    @Test
+    void testRemoveShard_UnregistersShardMeters() {
+        var router = new ShardRouter(shards(new StubShard("shard-0"), new StubShard("shard-1")), 16, 16);
+        router.bindTo(registry);
+
+        router.removeShard("shard-1");
+
+        assertNull(registry.find(StageMetrics.TIMER).tag("shard", "shard-1").timer());
+        assertNull(registry.find(StageMetrics.IN_FLIGHT).tag("shard", "shard-1").gauge());
+        assertNull(registry.find(ShardRouter.BATCH_TIMER).tag("shard", "shard-1").timer());
+        assertNotNull(registry.find(ShardRouter.BATCH_TIMER).tag("shard", "shard-0").timer());
+    }
+
+    @Test
+    void testClose_ClosesOwnedShards() {
+        var owned = new ClosableShard("shard-1");
+        var router = new ShardRouter(shards(new StubShard("shard-0"), owned), Set.of("shard-1"), 16, 16);
+
+        router.close();
+
+        assertEquals(1, owned.closed.get());
+    }
+
+    @Test
+    void testUserKeySource_AggregatesShards() {
+        var first = new StubShard("shard-0");
+        var second = new StubShard("shard-1");
+        var router = new ShardRouter(shards(first, second), 16, 16);
+        var notified = new ArrayList<Long>();
+        router.addUserKeyListener(notified::add);
+
+        StepVerifier.create(router.userCount()).expectNext(20L).verifyComplete();
+        StepVerifier.create(router.userKeys()).expectNextCount(2).verifyComplete();
+        second.listeners.forEach(listener -> listener.accept(42L));
+        assertEquals(List.of(42L), notified);
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardRouter(shards(new StubShard("shard-0")), 16, 0));
+    }
+}
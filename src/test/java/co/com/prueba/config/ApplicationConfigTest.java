@@ -1,6 +1,5 @@
 package co.com.prueba.config;
 
-import io.swagger.v3.oas.models.OpenAPI;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
@@ -17,12 +16,6 @@ class ApplicationConfigTest {
         WebProperties.Resources resources = context.getBean(WebProperties.Resources.class);
         assertNotNull(resources);
 
-        OpenAPI openAPI = context.getBean(OpenAPI.class);
-        assertNotNull(openAPI);
-        assertNotNull(openAPI.getInfo());
-        assertEquals("App API", openAPI.getInfo().getTitle());
-        assertEquals("Documentación de la App", openAPI.getInfo().getDescription());
-
         context.close();
     }
 
@@ -35,16 +28,4 @@ class ApplicationConfigTest {
 
         context.close();
     }
-
-    @Test
-    void testOpenAPIBean() {
-        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(ApplicationConfig.class);
-
-        OpenAPI openAPI = context.getBean(OpenAPI.class);
-        assertNotNull(openAPI);
-        assertNotNull(openAPI.getComponents());
-        assertNotNull(openAPI.getInfo());
-
-        context.close();
-    }
 }
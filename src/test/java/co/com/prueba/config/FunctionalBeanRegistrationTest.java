@@ -0,0 +1,96 @@
+package co.com.prueba.config;
+
+import co.com.prueba.adapter.UserServiceAdapter;
+import co.com.prueba.entrypoints.handler.UserHandler;
+import co.com.prueba.entrypoints.rsocket.UserRSocketController;
+import co.com.prueba.model.exception.CustomAttribute;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.test.context.support.TestPropertySourceUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"startup.bean-registration=functional", "spring.rsocket.server.port=0"})
+class FunctionalBeanRegistrationTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private RSocketRequester.Builder requesterBuilder;
+
+    @Value("${local.rsocket.server.port}")
+    private int rsocketPort;
+
+    @Test
+    void registersBeansWithoutComponentScan() {
+        assertEquals(0, context.getBeanNamesForType(ComponentScanConfig.class).length);
+        assertEquals(0, context.getBeanNamesForType(UseCaseScanConfig.class).length);
+        assertNotNull(context.getBean(UserServiceAdapter.class));
+        assertNotNull(context.getBean(UserHandler.class));
+    }
+
+    @Test
+    void servesUserLookup() {
+        webTestClient.get()
+                .uri("/api/v1/user?documentType=C&documentNumber=23445322")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserResponse.class)
+                .value(user -> assertEquals("Daniel", user.getFirstName()));
+    }
+
+    @Test
+    void handlesNonSharedErrors() {
+        assertNotNull(context.getBean(CustomAttribute.class));
+
+        webTestClient.get()
+                .uri("/api/v1/unknown")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void servesUserLookupOverRSocket() {
+        var requester = requesterBuilder.tcp("localhost", rsocketPort);
+
+        StepVerifier.create(requester.route(UserRSocketController.FIND_USER)
+                        .data(new UserRequest("C", "23445322"))
+                        .retrieveMono(UserResponse.class))
+                .assertNext(user -> assertEquals("Daniel", user.getFirstName()))
+                .verifyComplete();
+        requester.dispose();
+    }
+
+    @Test
+    void doesNothingInScanMode() {
+        var scanContext = new GenericApplicationContext();
+        TestPropertySourceUtils.addInlinedPropertiesToEnvironment(scanContext, "startup.bean-registration=scan");
+
+        new FunctionalBeanRegistration().initialize(scanContext);
+
+        assertEquals(0, scanContext.getBeanDefinitionCount());
+    }
+
+    @Test
+    void rejectsUnknownAdapterType() {
+        var unknownContext = new GenericApplicationContext();
+        TestPropertySourceUtils.addInlinedPropertiesToEnvironment(unknownContext,
+                "startup.bean-registration=functional", "adapter.user.type=redis");
+
+        assertThrows(IllegalStateException.class, () -> new FunctionalBeanRegistration().initialize(unknownContext));
+    }
+}
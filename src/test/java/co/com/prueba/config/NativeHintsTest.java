@@ -0,0 +1,40 @@
+package co.com.prueba.config;
+
+import co.com.prueba.model.user.CustomExceptionE;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import org.apache.logging.log4j.core.filter.BurstFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeHintsTest() {
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersJacksonModels() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(UserResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(UserRequest.UserRequestBuilder.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CustomExceptionE.class).test(hints));
+    }
+
+    @Test
+    void registersClasspathResources() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("users.csv").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("log4j2.component.properties").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/users-schema.sql").test(hints));
+    }
+
+    @Test
+    void registersLog4j2Plugins() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(BurstFilter.class).test(hints));
+    }
+}
@@ -0,0 +1,46 @@
+package co.com.prueba.config;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenApiConfigTest {
+
+    @Test
+    void testOpenAPIBean() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(OpenApiConfig.class);
+
+        OpenAPI openAPI = context.getBean(OpenAPI.class);
+        assertNotNull(openAPI);
+        assertNotNull(openAPI.getComponents());
+        assertNotNull(openAPI.getInfo());
+        assertEquals("App API", openAPI.getInfo().getTitle());
+        assertEquals("Documentación de la App", openAPI.getInfo().getDescription());
+
+        context.close();
+    }
+
+    @Test
+    void testSpringdocBeansAreLazy() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.register(ApplicationConfig.class, OpenApiConfig.class);
+        context.registerBean("org.springdoc.core.Example", Object.class);
+        context.refresh();
+
+        assertTrue(context.getBeanFactory().getBeanDefinition("org.springdoc.core.Example").isLazyInit());
+        assertTrue(context.getBeanFactory().getBeanDefinition("reactiveOpenAPI").isLazyInit());
+        assertFalse(context.getBeanFactory().getBeanDefinition("resources").isLazyInit());
+
+        context.close();
+    }
+
+    @Test
+    void testServerUrl() {
+        var openAPI = new OpenApiConfig().reactiveOpenAPI("/");
+
+        assertEquals("/", openAPI.getServers().get(0).getUrl());
+        assertNull(new OpenApiConfig().reactiveOpenAPI("").getServers());
+    }
+}
@@ -0,0 +1,50 @@
+package co.com.prueba.config;
+
+import co.com.prueba.model.user.gateway.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockReset;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "startup.training.enabled=true",
+        "startup.training.on-complete=none",
+        "startup.training.requests=20",
+        "spring.rsocket.server.port=0"
+})
+class TrainingRunTest {
+
+    @LocalServerPort
+    private int port;
+
+    @SpyBean(reset = MockReset.NONE)
+    private UserRepository userRepository;
+
+    @Autowired
+    private TrainingRun trainingRun;
+
+    @Test
+    void trainsOnStartupThroughTheLookupEndpoint() {
+        // Dos de las tres rutas por defecto llegan al repositorio; la tercera falla en la validacion
+        verify(userRepository, atLeast(13)).findByUser(any());
+    }
+
+    @Test
+    void trainSendsConfiguredRequests() {
+        var run = new TrainingRun(30, List.of("/api/v1/user?documentType=C&documentNumber=23445322"),
+                TrainingRun.OnComplete.NONE, Duration.ofSeconds(10));
+
+        assertEquals(30, run.train(port));
+        assertEquals(20, trainingRun.train(port));
+    }
+}
@@ -0,0 +1,275 @@
+package co.com.prueba.config;
+
+import co.com.prueba.adapter.UserServiceAdapter;
+import co.com.prueba.adapter.batch.MicroBatchingDecorator;
+import co.com.prueba.adapter.bloom.BloomFilterDecorator;
+import co.com.prueba.adapter.cache.UserCacheDecorator;
+import co.com.prueba.adapter.hedge.HedgingReplicaRouter;
+import co.com.prueba.adapter.metrics.MeteredUserRepositoryDecorator;
+import co.com.prueba.adapter.metrics.StageMetrics;
+import co.com.prueba.adapter.r2dbc.R2dbcUserAdapter;
+import co.com.prueba.adapter.resilience.StaleWhileRevalidateDecorator;
+import co.com.prueba.adapter.shard.ShardRouter;
+import co.com.prueba.model.user.gateway.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserRepositoryConfigTest {
+
+    private final UserRepositoryConfig config = new UserRepositoryConfig();
+    private final UserServiceAdapter adapter = new UserServiceAdapter();
+
+    @Test
+    void testUserRepository_WithoutDecorators() {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getMetrics().setEnabled(false);
+
+        assertSame(adapter, config.userRepository(adapter, properties, meterRegistry(new SimpleMeterRegistry())));
+    }
+
+    @Test
+    void testUserRepository_WithCache() {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getCache().setEnabled(true);
+        properties.getMetrics().setEnabled(false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        UserRepository repository = config.userRepository(adapter, properties, meterRegistry(registry));
+
+        assertInstanceOf(UserCacheDecorator.class, repository);
+        assertNotNull(registry.find("cache.size").tag("cache", "users").gauge());
+    }
+
+    @Test
+    void testUserRepository_WithMetrics() {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        UserRepository repository = config.userRepository(adapter, properties, meterRegistry(registry));
+
+        assertInstanceOf(MeteredUserRepositoryDecorator.class, repository);
+        assertNotNull(registry.find(StageMetrics.TIMER).tags("stage", MeteredUserRepositoryDecorator.STAGE, "adapter", "stub").timer());
+    }
+
+    @Test
+    void testUserRepository_WithBloomFilter() {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getMetrics().setEnabled(false);
+        properties.getBloom().setEnabled(true);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        UserRepository repository = config.userRepository(adapter, properties, meterRegistry(registry));
+
+        assertInstanceOf(BloomFilterDecorator.class, repository);
+        assertNotNull(registry.find("user.bloom.memory").gauge());
+    }
+
+    @Test
+    void testUserRepository_BloomRebuildsStopOnDestroy() {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getMetrics().setEnabled(false);
+        properties.getBloom().setEnabled(true);
+        UserRepositoryConfig config = new UserRepositoryConfig();
+
+        BloomFilterDecorator repository = (BloomFilterDecorator) config.userRepository(adapter, properties,
+                meterRegistry(new SimpleMeterRegistry()));
+        assertTrue(repository.isRunning());
+
+        config.destroy();
+        assertFalse(repository.isRunning());
+    }
+
+    @Test
+    void testUserRepository_BloomOverR2dbcRequiresRebuildInterval() throws IOException {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getR2dbc().setUrl(h2Url());
+        properties.getR2dbc().getPool().setInitialSize(1);
+        properties.getMetrics().setEnabled(false);
+        properties.getBloom().setEnabled(true);
+        properties.getBloom().setRebuildInterval(Duration.ZERO);
+        try (R2dbcUserAdapter r2dbc = new R2dbcUserAdapter(properties, meterRegistry(new SimpleMeterRegistry()))) {
+            assertThrows(IllegalStateException.class,
+                    () -> config.userRepository(r2dbc, properties, meterRegistry(new SimpleMeterRegistry())));
+        }
+    }
+
+    @Test
+    void testUserRepository_WithBatchBelowMetrics() {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getBatch().setEnabled(true);
+        properties.getMetrics().setEnabled(false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        assertInstanceOf(MicroBatchingDecorator.class, config.userRepository(adapter, properties, meterRegistry(registry)));
+        assertNotNull(registry.find(MicroBatchingDecorator.METRIC_PREFIX + ".size").summary());
+
+        properties.getMetrics().setEnabled(true);
+        assertInstanceOf(MeteredUserRepositoryDecorator.class,
+                config.userRepository(adapter, properties, meterRegistry(new SimpleMeterRegistry())));
+    }
+
+    @Test
+    void testUserRepository_WithResilience() {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getResilience().setEnabled(true);
+        properties.getMetrics().setEnabled(false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        UserRepository repository = config.userRepository(adapter, properties, meterRegistry(registry));
+
+        assertInstanceOf(StaleWhileRevalidateDecorator.class, repository);
+        assertNotNull(registry.find("resilience4j.circuitbreaker.state")
+                .tag("name", UserRepositoryConfig.CIRCUIT_BREAKER).gauge());
+        assertNotNull(registry.find(StaleWhileRevalidateDecorator.METRIC_PREFIX + ".entries").gauge());
+    }
+
+    @Test
+    void testUserRepository_WithHedge() {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getHedge().setEnabled(true);
+        properties.getMetrics().setEnabled(false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        UserRepository repository = config.userRepository(adapter, properties, meterRegistry(registry));
+
+        assertInstanceOf(HedgingReplicaRouter.class, repository);
+        assertEquals(List.of(adapter), ((HedgingReplicaRouter) repository).replicas());
+        assertNotNull(registry.find(HedgingReplicaRouter.METRIC_PREFIX + ".delay").timeGauge());
+    }
+
+    @Test
+    void testReplicas_R2dbcReplicaUrls() throws IOException {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getR2dbc().setUrl(h2Url());
+        properties.getR2dbc().getPool().setInitialSize(1);
+        properties.getR2dbc().setReplicaUrls(List.of(h2Url(), h2Url()));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        R2dbcUserAdapter r2dbc = new R2dbcUserAdapter(properties, meterRegistry(registry));
+
+        List<UserRepository> replicas = UserRepositoryConfig.replicas(r2dbc, properties, registry);
+        try {
+            assertEquals(3, replicas.size());
+            assertSame(r2dbc, replicas.get(0));
+            assertNotNull(registry.find(R2dbcUserAdapter.ACQUIRE_TIMER).tag("name", "users-replica-2").timer());
+        } finally {
+            for (UserRepository replica : replicas) {
+                ((Closeable) replica).close();
+            }
+        }
+    }
+
+    @Test
+    void testUserRepository_ReplicaPoolsCloseOnDestroy() throws IOException {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getR2dbc().setUrl(h2Url());
+        properties.getR2dbc().getPool().setInitialSize(1);
+        properties.getR2dbc().setReplicaUrls(List.of(h2Url()));
+        properties.getHedge().setEnabled(true);
+        properties.getMetrics().setEnabled(false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UserRepositoryConfig config = new UserRepositoryConfig();
+        try (R2dbcUserAdapter r2dbc = new R2dbcUserAdapter(properties, meterRegistry(registry))) {
+            var hedging = (HedgingReplicaRouter) config.userRepository(r2dbc, properties, meterRegistry(registry));
+            var replica = (R2dbcUserAdapter) hedging.replicas().get(1);
+
+            config.destroy();
+
+            assertFalse(r2dbc.pool().isDisposed());
+            assertTrue(replica.pool().isDisposed());
+        }
+    }
+
+    @Test
+    void testReplicas_OtherAdaptersIgnoreReplicaUrls() {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getR2dbc().setReplicaUrls(List.of(h2Url()));
+
+        assertEquals(List.of(adapter), UserRepositoryConfig.replicas(adapter, properties, null));
+    }
+
+    @Test
+    void testUserRepository_WithShard() {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getShard().setEnabled(true);
+        properties.getMetrics().setEnabled(false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        UserRepository repository = config.userRepository(adapter, properties, meterRegistry(registry));
+
+        assertInstanceOf(ShardRouter.class, repository);
+        assertEquals(Map.of("shard-0", adapter), ((ShardRouter) repository).shards());
+        assertNotNull(registry.find(ShardRouter.BATCH_TIMER).tag("shard", "shard-0").timer());
+    }
+
+    @Test
+    void testUserRepository_ShardPoolsCloseOnDestroy() throws IOException {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getR2dbc().setUrl(h2Url());
+        properties.getR2dbc().getPool().setInitialSize(1);
+        properties.getShard().setEnabled(true);
+        properties.getShard().setUrls(List.of(h2Url()));
+        properties.getMetrics().setEnabled(false);
+        properties.getBloom().setEnabled(false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UserRepositoryConfig config = new UserRepositoryConfig();
+        try (R2dbcUserAdapter r2dbc = new R2dbcUserAdapter(properties, meterRegistry(registry))) {
+            var router = (ShardRouter) config.userRepository(r2dbc, properties, meterRegistry(registry));
+            var shard = (R2dbcUserAdapter) router.shards().get("shard-1");
+
+            config.destroy();
+
+            assertFalse(r2dbc.pool().isDisposed());
+            assertTrue(shard.pool().isDisposed());
+        }
+    }
+
+    @Test
+    void testShards_R2dbcShardUrls() throws IOException {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+        properties.getR2dbc().setUrl(h2Url());
+        properties.getR2dbc().getPool().setInitialSize(1);
+        properties.getShard().setUrls(List.of(h2Url(), h2Url()));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        R2dbcUserAdapter r2dbc = new R2dbcUserAdapter(properties, meterRegistry(registry));
+
+        Map<String, UserRepository> shards = UserRepositoryConfig.shards(r2dbc, properties, registry);
+        try {
+            assertEquals(List.of("shard-0", "shard-1", "shard-2"), List.copyOf(shards.keySet()));
+            assertSame(r2dbc, shards.get("shard-0"));
+            assertNotNull(registry.find(R2dbcUserAdapter.ACQUIRE_TIMER).tag("name", "users-shard-2").timer());
+        } finally {
+            for (UserRepository shard : shards.values()) {
+                ((Closeable) shard).close();
+            }
+        }
+    }
+
+    @Test
+    void testUserRepository_WithoutMeterRegistry() {
+        UserRepositoryProperties properties = new UserRepositoryProperties();
+
+        assertSame(adapter, config.userRepository(adapter, properties, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)));
+    }
+
+    private static String h2Url() {
+        return "r2dbc:h2:mem:///" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private ObjectProvider<MeterRegistry> meterRegistry(MeterRegistry registry) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", registry);
+        return beanFactory.getBeanProvider(MeterRegistry.class);
+    }
+}
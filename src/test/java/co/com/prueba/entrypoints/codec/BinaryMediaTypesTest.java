@@ -0,0 +1,45 @@
+package co.com.prueba.entrypoints.codec;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryMediaTypesTest {
+
+    @Test
+    void withoutAcceptIsJson() {
+        assertEquals(MediaType.APPLICATION_JSON, BinaryMediaTypes.select(List.of()));
+        assertEquals(MediaType.APPLICATION_JSON, BinaryMediaTypes.select(List.of(MediaType.ALL)));
+    }
+
+    @Test
+    void selectsRequestedBinaryType() {
+        assertEquals(BinaryMediaTypes.CBOR, BinaryMediaTypes.select(MediaType.parseMediaTypes("application/cbor")));
+        assertEquals(BinaryMediaTypes.SMILE,
+                BinaryMediaTypes.select(MediaType.parseMediaTypes("application/x-jackson-smile")));
+        assertEquals(BinaryMediaTypes.PROTOBUF,
+                BinaryMediaTypes.select(MediaType.parseMediaTypes("application/x-protobuf")));
+        assertEquals(BinaryMediaTypes.PROTOBUF_STANDARD,
+                BinaryMediaTypes.select(MediaType.parseMediaTypes("application/protobuf")));
+    }
+
+    @Test
+    void honoursQualityValues() {
+        assertEquals(BinaryMediaTypes.CBOR,
+                BinaryMediaTypes.select(MediaType.parseMediaTypes("application/json;q=0.5, application/cbor")));
+        assertEquals(MediaType.APPLICATION_JSON,
+                BinaryMediaTypes.select(MediaType.parseMediaTypes("application/cbor;q=0.5, application/json")));
+        assertEquals(MediaType.APPLICATION_JSON,
+                BinaryMediaTypes.select(MediaType.parseMediaTypes("application/cbor;q=0")));
+    }
+
+    @Test
+    void unknownTypesFallBackToJson() {
+        assertEquals(MediaType.APPLICATION_JSON, BinaryMediaTypes.select(MediaType.parseMediaTypes("text/html")));
+        assertFalse(BinaryMediaTypes.isBinary(MediaType.APPLICATION_JSON));
+        assertTrue(BinaryMediaTypes.isBinary(BinaryMediaTypes.SMILE));
+    }
+}
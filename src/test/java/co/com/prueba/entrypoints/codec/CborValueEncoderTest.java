@@ -0,0 +1,53 @@
+package co.com.prueba.entrypoints.codec;
+
+import co.com.prueba.model.user.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CborValueEncoderTest {
+
+    private final CborValueEncoder encoder = new CborValueEncoder();
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+    private UserResponse decode(DataBuffer buffer) {
+        var bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        try {
+            return cbor.readValue(bytes, UserResponse.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void encodesSingleValue() {
+        StepVerifier.create(encoder.encode(Mono.just(UserResponse.builder().firstName("Daniel").build()),
+                        DefaultDataBufferFactory.sharedInstance, ResolvableType.forClass(UserResponse.class),
+                        MediaType.APPLICATION_CBOR, Map.of()))
+                .assertNext(buffer -> assertEquals("Daniel", decode(buffer).getFirstName()))
+                .verifyComplete();
+    }
+
+    @Test
+    void encodesEachElementOfAStream() {
+        StepVerifier.create(encoder.encode(Flux.just(UserResponse.builder().firstName("A").build(),
+                                UserResponse.builder().firstName("B").build()),
+                        DefaultDataBufferFactory.sharedInstance, ResolvableType.forClass(UserResponse.class),
+                        MediaType.APPLICATION_CBOR, Map.of()))
+                .assertNext(buffer -> assertEquals("A", decode(buffer).getFirstName()))
+                .assertNext(buffer -> assertEquals("B", decode(buffer).getFirstName()))
+                .verifyComplete();
+    }
+}
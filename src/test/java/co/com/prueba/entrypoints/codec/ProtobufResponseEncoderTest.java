@@ -0,0 +1,107 @@
+package co.com.prueba.entrypoints.codec;
+
+import co.com.prueba.model.user.CustomExceptionE;
+import co.com.prueba.model.user.UserResponse;
+import com.google.protobuf.UnknownFieldSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProtobufResponseEncoderTest {
+
+    private final ProtobufResponseEncoder encoder = new ProtobufResponseEncoder();
+
+    private String field(UnknownFieldSet fields, int number) {
+        return fields.getField(number).getLengthDelimitedList().get(0).toStringUtf8();
+    }
+
+    @Test
+    void encodesUserResponseFieldsInOrder() throws Exception {
+        var user = UserResponse.builder()
+                .firstName("Daniel").secondName("Ricardo").firstLastName("Buritica").secondLastName("Junco")
+                .phone("3217570485").address("Calle falsa 123").residenceCity("Bogotá")
+                .build();
+
+        var fields = UnknownFieldSet.parseFrom(ProtobufResponseEncoder.encode(user));
+
+        assertEquals("Daniel", field(fields, 1));
+        assertEquals("Ricardo", field(fields, 2));
+        assertEquals("Buritica", field(fields, 3));
+        assertEquals("Junco", field(fields, 4));
+        assertEquals("3217570485", field(fields, 5));
+        assertEquals("Calle falsa 123", field(fields, 6));
+        assertEquals("Bogotá", field(fields, 7));
+    }
+
+    @Test
+    void encodedSizesMatchResponseFormatBenchmark() {
+        var user = UserResponse.builder()
+                .firstName("Daniel").secondName("Ricardo").firstLastName("Buritica").secondLastName("Junco")
+                .phone("3217570485").address("Calle falsa 123").residenceCity("Bogota")
+                .build();
+
+        assertEquals(71, ProtobufResponseEncoder.encode(user).length);
+        assertEquals(34, ProtobufResponseEncoder.encode(new CustomExceptionE("No existe el usuario.", "NOT_FOUND")).length);
+    }
+
+    @Test
+    void omitsNullAndEmptyFields() throws Exception {
+        var fields = UnknownFieldSet.parseFrom(ProtobufResponseEncoder.encode(
+                UserResponse.builder().firstName("Daniel").secondName("").build()));
+
+        assertEquals(1, fields.asMap().size());
+        assertEquals(0, ProtobufResponseEncoder.encode(new UserResponse()).length);
+    }
+
+    @Test
+    void encodesLongValuesWithMultiByteLength() throws Exception {
+        var address = "x".repeat(300);
+
+        var fields = UnknownFieldSet.parseFrom(ProtobufResponseEncoder.encode(
+                UserResponse.builder().address(address).build()));
+
+        assertEquals(address, field(fields, 6));
+    }
+
+    @Test
+    void encodesCustomExceptionE() throws Exception {
+        var fields = UnknownFieldSet.parseFrom(ProtobufResponseEncoder.encode(
+                new CustomExceptionE("No existe el usuario.", "NOT_FOUND")));
+
+        assertEquals("No existe el usuario.", field(fields, 1));
+        assertEquals("NOT_FOUND", field(fields, 2));
+    }
+
+    @Test
+    void canEncodeOnlyResponsesAsProtobuf() {
+        assertTrue(encoder.canEncode(ResolvableType.forClass(UserResponse.class), BinaryMediaTypes.PROTOBUF));
+        assertTrue(encoder.canEncode(ResolvableType.forClass(CustomExceptionE.class),
+                BinaryMediaTypes.PROTOBUF_STANDARD));
+        assertFalse(encoder.canEncode(ResolvableType.forClass(UserResponse.class), MediaType.APPLICATION_JSON));
+        assertFalse(encoder.canEncode(ResolvableType.forClass(UserResponse.class), null));
+        assertFalse(encoder.canEncode(ResolvableType.forClass(String.class), BinaryMediaTypes.PROTOBUF));
+    }
+
+    @Test
+    void encodeWritesOneBufferPerValue() {
+        var user = UserResponse.builder().firstName("Daniel").build();
+
+        StepVerifier.create(encoder.encode(Mono.just(user), DefaultDataBufferFactory.sharedInstance,
+                        ResolvableType.forClass(UserResponse.class), BinaryMediaTypes.PROTOBUF, Map.of()))
+                .assertNext(buffer -> assertEquals(ProtobufResponseEncoder.encode(user).length,
+                        buffer.readableByteCount()))
+                .verifyComplete();
+    }
+
+    @Test
+    void rejectsUnsupportedValues() {
+        assertThrows(IllegalArgumentException.class, () -> ProtobufResponseEncoder.encode("usuario"));
+    }
+}
@@ -1,19 +1,35 @@
 package co.com.prueba.entrypoints.exception;
 
+import co.com.prueba.model.exception.CustomAttribute;
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.CustomExceptionE;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.boot.web.error.ErrorAttributeOptions;
 import org.springframework.boot.web.reactive.error.DefaultErrorAttributes;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
 import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.mock.web.reactive.function.server.MockServerRequest;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.result.view.ViewResolver;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GlobalExceptionHandlerTest {
@@ -82,6 +98,73 @@ class GlobalExceptionHandlerTest {
         assertNotNull(routingFunction2);
     }
 
+    @Test
+    void testCustomErrorResponse_SharedErrorIsPreEncoded() throws Exception {
+        CustomException error = CustomException.shared(HttpStatus.NOT_FOUND, "No existe el usuario.");
+        var expected = new ObjectMapper().writeValueAsString(CustomAttribute.attributesOf(error));
+
+        var first = render(error);
+        var second = render(error);
+
+        assertEquals(HttpStatus.NOT_FOUND, first.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, first.getHeaders().getContentType());
+        assertEquals(expected.length(), first.getHeaders().getContentLength());
+        StepVerifier.create(first.getBodyAsString()).expectNext(expected).verifyComplete();
+        StepVerifier.create(second.getBodyAsString()).expectNext(expected).verifyComplete();
+    }
+
+    @Test
+    void testCustomErrorResponse_BinaryAcceptWritesCustomExceptionE() throws Exception {
+        var smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        var response = render(CustomException.shared(HttpStatus.NOT_FOUND, "No existe el usuario."), smile);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(smile, response.getHeaders().getContentType());
+        var body = DataBufferUtils.join(response.getBody()).map(buffer -> {
+            var bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        }).block();
+        var error = new ObjectMapper(new SmileFactory()).readValue(body, CustomExceptionE.class);
+        assertEquals("No existe el usuario.", error.getMessage());
+        assertEquals("NOT_FOUND", error.getStatus());
+    }
+
+    @Test
+    void testCustomErrorResponse_DefaultErrorAttributesIntegerStatus() {
+        var response = render(new ResponseStatusException(HttpStatus.CONFLICT));
+        var binary = render(new IllegalStateException("boom"), MediaType.parseMediaType("application/x-jackson-smile"));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, binary.getStatusCode());
+    }
+
+    private MockServerHttpResponse render(Throwable error) {
+        return render(error, MediaType.ALL);
+    }
+
+    private MockServerHttpResponse render(Throwable error, MediaType accept) {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/user").accept(accept));
+        errorAttributes.storeErrorInformation(error, exchange);
+        ServerRequest request = ServerRequest.create(exchange, codecConfigurer.getReaders());
+        globalExceptionHandler.getRoutingFunction(errorAttributes).route(request)
+                .flatMap(handler -> handler.handle(request))
+                .flatMap(response -> response.writeTo(exchange, new ServerResponse.Context() {
+                    @Override
+                    public List<HttpMessageWriter<?>> messageWriters() {
+                        return codecConfigurer.getWriters();
+                    }
+
+                    @Override
+                    public List<ViewResolver> viewResolvers() {
+                        return List.of();
+                    }
+                }))
+                .block();
+        return exchange.getResponse();
+    }
+
     @Test
     void testGlobalExceptionHandler_SettersConfigured() {
         // Verificar que los setters de messageReaders y messageWriters fueron configurados
@@ -0,0 +1,112 @@
+package co.com.prueba.entrypoints.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ConcurrencyLimitFilterTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private ConcurrencyLimitFilter filter(boolean enabled, int limit) {
+        var properties = new ConcurrencyLimitProperties();
+        properties.setEnabled(enabled);
+        properties.setInitialLimit(limit);
+        properties.setMinLimit(1);
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        Mockito.doAnswer(invocation -> {
+            invocation.<Consumer<MeterRegistry>>getArgument(0).accept(registry);
+            return null;
+        }).when(provider).ifAvailable(ArgumentMatchers.any());
+        return new ConcurrencyLimitFilter(properties, new ObjectMapper(), provider);
+    }
+
+    private MockServerWebExchange userExchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/user?documentType=C&documentNumber=1"));
+    }
+
+    @Test
+    void rejectsWith503WhenLimitIsReached() {
+        var filter = filter(true, 1);
+        var pending = Sinks.<Void>empty();
+        WebFilterChain slow = exchange -> pending.asMono();
+
+        filter.filter(userExchange(), slow).subscribe();
+        var rejected = userExchange();
+        StepVerifier.create(filter.filter(rejected, slow)).verifyComplete();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        StepVerifier.create(rejected.getResponse().getBodyAsString())
+                .assertNext(body -> assertTrue(body.contains(ConcurrencyLimitFilter.SERVICE_UNAVAILABLE)))
+                .verifyComplete();
+        assertEquals(1, filter.getInFlight());
+        assertEquals(1.0, registry.get("user.concurrency.rejections").counter().count());
+
+        pending.tryEmitEmpty();
+        assertEquals(0, filter.getInFlight());
+    }
+
+    @Test
+    void releasesSlotWhenRequestCompletes() {
+        var filter = filter(true, 1);
+        WebFilterChain fast = exchange -> Mono.empty();
+
+        StepVerifier.create(filter.filter(userExchange(), fast)).verifyComplete();
+        StepVerifier.create(filter.filter(userExchange(), fast)).verifyComplete();
+
+        assertEquals(0, filter.getInFlight());
+        assertEquals(0.0, registry.get("user.concurrency.rejections").counter().count());
+    }
+
+    @Test
+    void ignoresOtherPaths() {
+        var filter = filter(true, 1);
+        var pending = Sinks.<Void>empty();
+        filter.filter(userExchange(), exchange -> pending.asMono()).subscribe();
+        var other = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/users:batch"));
+
+        StepVerifier.create(filter.filter(other, exchange -> Mono.empty())).verifyComplete();
+
+        assertNull(other.getResponse().getStatusCode());
+    }
+
+    @Test
+    void passesThroughWhenDisabled() {
+        var filter = filter(false, 1);
+        var pending = Sinks.<Void>empty();
+        filter.filter(userExchange(), exchange -> pending.asMono()).subscribe();
+        var second = userExchange();
+
+        StepVerifier.create(filter.filter(second, exchange -> Mono.empty())).verifyComplete();
+
+        assertNull(second.getResponse().getStatusCode());
+    }
+
+    @Test
+    void exposesLimitGauges() {
+        var filter = filter(true, 10);
+
+        assertEquals(10.0, registry.get("user.concurrency.limit").gauge().value());
+        assertEquals(0.0, registry.get("user.concurrency.in.flight").gauge().value());
+        assertEquals(10, filter.getLimit());
+    }
+}
@@ -0,0 +1,74 @@
+package co.com.prueba.entrypoints.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VegasLimitTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void growsWhileLatencyStaysAtMinimum() {
+        var limit = new VegasLimit(20, 4, 200, 1.0, 1000);
+        limit.onSample(10 * MILLIS, 20, false);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        }
+
+        assertTrue(limit.getLimit() > 20);
+    }
+
+    @Test
+    void shrinksWhenLatencyQueues() {
+        var limit = new VegasLimit(100, 4, 200, 1.0, 1000);
+        limit.onSample(10 * MILLIS, 100, false);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(50 * MILLIS, limit.getLimit(), false);
+        }
+
+        assertTrue(limit.getLimit() < 100);
+    }
+
+    @Test
+    void shrinksOnDropAndStopsAtMinimum() {
+        var limit = new VegasLimit(10, 4, 200, 1.0, 1000);
+        limit.onSample(10 * MILLIS, 10, false);
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(20 * MILLIS, 1, true);
+        }
+
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    void ignoresSamplesWithoutLoad() {
+        var limit = new VegasLimit(100, 4, 200, 1.0, 1000);
+        limit.onSample(10 * MILLIS, 100, false);
+
+        limit.onSample(10 * MILLIS, 1, false);
+
+        assertEquals(100, limit.getLimit());
+    }
+
+    @Test
+    void neverExceedsMaximum() {
+        var limit = new VegasLimit(20, 4, 30, 1.0, 1000);
+        limit.onSample(10 * MILLIS, 20, false);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        }
+
+        assertEquals(30, limit.getLimit());
+    }
+
+    @Test
+    void rejectsInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new VegasLimit(2, 4, 200, 1.0, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new VegasLimit(20, 4, 2, 1.0, 1000));
+    }
+}
@@ -0,0 +1,68 @@
+package co.com.prueba.entrypoints.handler;
+
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.VersionedUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UserRequest request = new UserRequest("C", "23445322");
+
+    private VersionedUser user(String firstName) {
+        return VersionedUser.of(UserResponse.builder()
+                .firstName(firstName)
+                .firstLastName("Buritica")
+                .residenceCity("Bogota")
+                .build());
+    }
+
+    @Test
+    void encodeMatchesObjectMapperOutput() throws Exception {
+        var cache = new EncodedResponseCache(objectMapper, true, 16);
+        var versioned = user("Daniel");
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(versioned.user()), cache.encode(request, versioned));
+    }
+
+    @Test
+    void encodeReusesBytesForSameVersionAcrossInstances() {
+        var cache = new EncodedResponseCache(objectMapper, true, 16);
+
+        var first = cache.encode(request, user("Daniel"));
+        var second = cache.encode(request, user("Daniel"));
+
+        assertSame(first, second);
+        assertEquals(1, cache.estimatedSize());
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    void encodeReplacesBytesWhenVersionChanges() throws Exception {
+        var cache = new EncodedResponseCache(objectMapper, true, 16);
+        cache.encode(request, user("Daniel"));
+        var changed = user("Ricardo");
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(changed.user()), cache.encode(request, changed));
+        assertEquals(1, cache.estimatedSize());
+    }
+
+    @Test
+    void encodeSkipsCacheForInvalidKey() {
+        var cache = new EncodedResponseCache(objectMapper, true, 16);
+
+        cache.encode(new UserRequest("X", "23445322"), user("Daniel"));
+
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    void isEnabledReflectsConfiguration() {
+        assertTrue(new EncodedResponseCache(objectMapper, true, 16).isEnabled());
+        assertFalse(new EncodedResponseCache(objectMapper, false, 16).isEnabled());
+    }
+}
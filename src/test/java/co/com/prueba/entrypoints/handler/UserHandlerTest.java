@@ -1,22 +1,46 @@
 package co.com.prueba.entrypoints.handler;
 
+import co.com.prueba.model.user.UserLookupResult;
 import co.com.prueba.model.user.UserRequest;
 import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.UserVersion;
+import co.com.prueba.model.user.VersionedUser;
 import co.com.prueba.usecase.UserUseCase;
+import co.com.prueba.adapter.UserServiceAdapter;
+import co.com.prueba.adapter.cache.UserCacheDecorator;
+import co.com.prueba.model.user.gateway.UserRepository;
+import co.com.prueba.adapter.metrics.StageMetrics;
+import co.com.prueba.model.exception.CustomException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.result.view.ViewResolver;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,13 +49,16 @@ class UserHandlerTest {
     @Mock
     private UserUseCase userUseCase;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
     private UserHandler userHandler;
 
     private UserResponse userResponse;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userHandler = new UserHandler(userUseCase, new EncodedResponseCache(new ObjectMapper(), false, 16), meterRegistry);
         userResponse = UserResponse.builder()
                 .firstName("Daniel")
                 .secondName("Ricardo")
@@ -45,8 +72,8 @@ class UserHandlerTest {
 
     @Test
     void testFindByUsername_Success() {
-        when(userUseCase.findUserByDocument(any(UserRequest.class)))
-                .thenReturn(Mono.just(userResponse));
+        when(userUseCase.findVersionedUserByDocument(any(UserRequest.class)))
+                .thenReturn(Mono.just(VersionedUser.of(userResponse)));
 
         MockServerRequest request = MockServerRequest.builder()
                 .queryParam("documentType", "C")
@@ -63,10 +90,65 @@ class UserHandlerTest {
                 .verifyComplete();
     }
 
+    @Test
+    void testFindByUsername_PreEncodedWritesSameJson() throws Exception {
+        var objectMapper = new ObjectMapper();
+        var handler = new UserHandler(userUseCase, new EncodedResponseCache(objectMapper, true, 16), meterRegistry);
+        when(userUseCase.findVersionedUserByDocument(any(UserRequest.class)))
+                .thenReturn(Mono.just(VersionedUser.of(userResponse)));
+
+        MockServerRequest request = MockServerRequest.builder()
+                .queryParam("documentType", "C")
+                .queryParam("documentNumber", "23445322")
+                .build();
+
+        var serverResponse = handler.findByUsername(request).block();
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/user"));
+        serverResponse.writeTo(exchange, new ServerResponse.Context() {
+            @Override
+            public List<HttpMessageWriter<?>> messageWriters() {
+                return HandlerStrategies.withDefaults().messageWriters();
+            }
+
+            @Override
+            public List<ViewResolver> viewResolvers() {
+                return List.of();
+            }
+        }).block();
+
+        var expected = objectMapper.writeValueAsBytes(userResponse);
+        assertEquals(MediaType.APPLICATION_JSON, exchange.getResponse().getHeaders().getContentType());
+        assertEquals(expected.length, exchange.getResponse().getHeaders().getContentLength());
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .expectNext(new String(expected, StandardCharsets.UTF_8))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindByUsername_RecordsStageMetrics() {
+        when(userUseCase.findVersionedUserByDocument(any(UserRequest.class)))
+                .thenReturn(Mono.just(VersionedUser.of(userResponse)))
+                .thenReturn(Mono.error(CustomException.shared(HttpStatus.NOT_FOUND, "No existe el usuario.")));
+
+        MockServerRequest request = MockServerRequest.builder()
+                .queryParam("documentType", "C")
+                .queryParam("documentNumber", "23445322")
+                .build();
+
+        StepVerifier.create(userHandler.findByUsername(request)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(userHandler.findByUsername(request)).expectError(CustomException.class).verify();
+
+        for (String stage : new String[]{UserHandler.HANDLER_STAGE, UserHandler.USE_CASE_STAGE}) {
+            assertEquals(1, meterRegistry.get(StageMetrics.TIMER).tags("stage", stage, "outcome", StageMetrics.FOUND).timer().count());
+            assertEquals(1, meterRegistry.get(StageMetrics.TIMER).tags("stage", stage, "outcome", StageMetrics.NOT_FOUND).timer().count());
+            assertEquals(0, meterRegistry.get(StageMetrics.IN_FLIGHT).tag("stage", stage).gauge().value());
+        }
+    }
+
     @Test
     void testFindByUsername_EmptyParams() {
-        when(userUseCase.findUserByDocument(any(UserRequest.class)))
-                .thenReturn(Mono.just(userResponse));
+        when(userUseCase.findVersionedUserByDocument(any(UserRequest.class)))
+                .thenReturn(Mono.just(VersionedUser.of(userResponse)));
 
         MockServerRequest request = MockServerRequest.builder()
                 .build();
@@ -79,4 +161,110 @@ class UserHandlerTest {
                 })
                 .verifyComplete();
     }
+
+    @Test
+    void testFindByUsernames_StreamsNdjson() {
+        when(userUseCase.findUsersByDocument(any()))
+                .thenReturn(Flux.just(UserLookupResult.found(new UserRequest("C", "23445322"), userResponse)));
+
+        MockServerRequest request = MockServerRequest.builder()
+                .body(Flux.just(new UserRequest("C", "23445322")));
+
+        Mono<ServerResponse> result = userHandler.findByUsernames(request);
+
+        StepVerifier.create(result)
+                .assertNext(serverResponse -> {
+                    assertEquals(200, serverResponse.statusCode().value());
+                    assertEquals(MediaType.APPLICATION_NDJSON, serverResponse.headers().getContentType());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindByUsername_SetsETag() {
+        when(userUseCase.findVersionedUserByDocument(any(UserRequest.class)))
+                .thenReturn(Mono.just(VersionedUser.of(userResponse)));
+
+        StepVerifier.create(userHandler.findByUsername(request(null)))
+                .assertNext(serverResponse -> assertEquals("\"" + UserVersion.of(userResponse) + "\"",
+                        serverResponse.headers().getETag()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindByUsername_MatchingIfNoneMatchIsNotModified() {
+        var version = UserVersion.of(userResponse);
+        when(userUseCase.findVersionedUserByDocument(any(UserRequest.class)))
+                .thenReturn(Mono.just(VersionedUser.of(userResponse)));
+
+        StepVerifier.create(userHandler.findByUsername(request("\"" + version + "\"")))
+                .assertNext(serverResponse -> {
+                    assertEquals(HttpStatus.NOT_MODIFIED, serverResponse.statusCode());
+                    assertEquals("\"" + version + "\"", serverResponse.headers().getETag());
+                })
+                .verifyComplete();
+        verify(userUseCase, times(1)).findVersionedUserByDocument(any());
+    }
+
+    @Test
+    void testFindByUsername_StaleIfNoneMatchReturnsUser() {
+        when(userUseCase.findVersionedUserByDocument(any(UserRequest.class)))
+                .thenReturn(Mono.just(VersionedUser.of(userResponse)));
+
+        StepVerifier.create(userHandler.findByUsername(request("\"0\"")))
+                .assertNext(serverResponse -> assertEquals(HttpStatus.OK, serverResponse.statusCode()))
+                .verifyComplete();
+        verify(userUseCase, times(1)).findVersionedUserByDocument(any());
+    }
+
+    @Test
+    void testFindByUsername_MatchingIfNoneMatchFromCacheSkipsBackend() {
+        var calls = new AtomicInteger();
+        UserRepository backend = lookup -> Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            return userResponse;
+        });
+        var handler = new UserHandler(new UserUseCase(new UserCacheDecorator(backend, 16, Duration.ofMinutes(1))),
+                new EncodedResponseCache(new ObjectMapper(), false, 16), meterRegistry);
+
+        var etag = handler.findByUsername(request(null)).block().headers().getETag();
+        StepVerifier.create(handler.findByUsername(request(etag)))
+                .assertNext(serverResponse -> assertEquals(HttpStatus.NOT_MODIFIED, serverResponse.statusCode()))
+                .verifyComplete();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testFindByUsername_PreEncodedHitsWithNewInstancePerLookup() {
+        var encodedResponses = new EncodedResponseCache(new ObjectMapper(), true, 16);
+        var handler = new UserHandler(new UserUseCase(new UserServiceAdapter()), encodedResponses, meterRegistry);
+
+        handler.findByUsername(request(null)).block();
+        handler.findByUsername(request(null)).block();
+        handler.findByUsername(request(null)).block();
+
+        assertEquals(1, encodedResponses.estimatedSize());
+        assertEquals(2, encodedResponses.hitCount());
+    }
+
+    @Test
+    void testMatches() {
+        assertTrue(UserHandler.matches(List.of("\"abc\""), "abc"));
+        assertTrue(UserHandler.matches(List.of("W/\"abc\""), "abc"));
+        assertTrue(UserHandler.matches(List.of("\"x\", \"abc\""), "abc"));
+        assertTrue(UserHandler.matches(List.of("*"), "abc"));
+        assertFalse(UserHandler.matches(List.of("\"abcd\""), "abc"));
+        assertFalse(UserHandler.matches(List.of("abc"), "abc"));
+    }
+
+    private MockServerRequest request(String ifNoneMatch) {
+        var builder = MockServerRequest.builder()
+                .queryParam("documentType", "C")
+                .queryParam("documentNumber", "23445322");
+        if (ifNoneMatch != null) {
+            builder.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return builder.build();
+    }
 }
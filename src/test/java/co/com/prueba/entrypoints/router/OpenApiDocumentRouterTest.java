@@ -0,0 +1,38 @@
+package co.com.prueba.entrypoints.router;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.charset.StandardCharsets;
+
+class OpenApiDocumentRouterTest {
+
+    private static final String PATH = "/swagger-doc/v3/api-docs";
+
+    private final OpenApiDocumentRouter router = new OpenApiDocumentRouter();
+
+    @Test
+    void servesGeneratedDocument() {
+        var document = new ByteArrayResource("{\"openapi\":\"3.0.1\"}".getBytes(StandardCharsets.UTF_8));
+        var client = WebTestClient.bindToRouterFunction(router.routerFunctionOpenApi(PATH, document)).build();
+
+        client.get().uri(PATH)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.openapi").isEqualTo("3.0.1");
+    }
+
+    @Test
+    void returnsNotFoundWithoutDocument() {
+        var document = new ClassPathResource("openapi/missing.json");
+        var client = WebTestClient.bindToRouterFunction(router.routerFunctionOpenApi(PATH, document)).build();
+
+        client.get().uri(PATH)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
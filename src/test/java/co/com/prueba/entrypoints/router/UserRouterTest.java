@@ -1,6 +1,7 @@
 package co.com.prueba.entrypoints.router;
 
 import co.com.prueba.entrypoints.handler.UserHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.server.RouterFunction;
@@ -17,7 +18,7 @@ class UserRouterTest {
     void setUp() {
         userRouter = new UserRouter();
         // Crear un UserHandler real en lugar de mock
-        userHandler = new UserHandler(null); // Se puede pasar null porque solo verificamos que se crea la ruta
+        userHandler = new UserHandler(null, null, new SimpleMeterRegistry()); // Se puede pasar null porque solo verificamos que se crea la ruta
     }
 
     @Test
@@ -47,7 +48,7 @@ class UserRouterTest {
 
     @Test
     void testRouterFunctionUser_WithDifferentHandler() {
-        UserHandler anotherHandler = new UserHandler(null);
+        UserHandler anotherHandler = new UserHandler(null, null, new SimpleMeterRegistry());
         RouterFunction<ServerResponse> route = userRouter.routerFunctionUser(anotherHandler);
         
         assertNotNull(route);
@@ -0,0 +1,65 @@
+package co.com.prueba.entrypoints.rsocket;
+
+import co.com.prueba.model.user.UserLookupResult;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.gateway.UserRepository;
+import co.com.prueba.usecase.UserUseCase;
+import io.rsocket.exceptions.ApplicationErrorException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserRSocketControllerTest {
+
+    @Mock
+    private UserUseCase userUseCase;
+
+    private UserRSocketController controller;
+
+    private final UserRequest request = new UserRequest("C", "23445322");
+    private final UserResponse userResponse = UserResponse.builder().firstName("Daniel").build();
+
+    @BeforeEach
+    void setUp() {
+        controller = new UserRSocketController(userUseCase);
+    }
+
+    @Test
+    void findUserDelegatesToUseCase() {
+        when(userUseCase.findUserByDocument(request)).thenReturn(Mono.just(userResponse));
+
+        StepVerifier.create(controller.findUser(request))
+                .expectNext(userResponse)
+                .verifyComplete();
+    }
+
+    @Test
+    void findUsersDelegatesToUseCase() {
+        when(userUseCase.findUsersByDocument(any())).thenAnswer(invocation -> invocation.<Flux<UserRequest>>getArgument(0)
+                .map(req -> UserLookupResult.found(req, userResponse)));
+
+        StepVerifier.create(controller.findUsers(Flux.just(request, request)))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void customExceptionIsPrefixedWithStatus() {
+        StepVerifier.create(controller.handleCustomException(UserRepository.USER_NOT_FOUND_ERROR))
+                .verifyErrorSatisfies(error -> {
+                    assertInstanceOf(ApplicationErrorException.class, error);
+                    assertEquals("NOT_FOUND: " + UserRepository.USER_NOT_FOUND, error.getMessage());
+                });
+    }
+}
@@ -39,6 +39,16 @@ class CustomAttributeTest {
         assertNotNull(customAttribute);
     }
 
+    @Test
+    void testAttributesOf_StatusAndMessage() {
+        Map<String, Object> attributes = CustomAttribute.attributesOf(
+                new CustomException(HttpStatus.NOT_FOUND, "No existe el usuario."));
+
+        assertEquals(2, attributes.size());
+        assertEquals(HttpStatus.NOT_FOUND, attributes.get("status"));
+        assertEquals("No existe el usuario.", attributes.get("message"));
+    }
+
     @Test
     void testCustomAttribute_CanBeInstantiated() {
         CustomAttribute instance = new CustomAttribute();
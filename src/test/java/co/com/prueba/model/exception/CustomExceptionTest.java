@@ -46,6 +46,26 @@ class CustomExceptionTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, internalError.getStatus());
     }
 
+    @Test
+    void testCustomException_SharedHasNoStackTrace() {
+        CustomException exception = CustomException.shared(HttpStatus.NOT_FOUND, "Not found");
+        exception.addSuppressed(new IllegalStateException());
+
+        assertTrue(exception.isShared());
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(0, exception.getSuppressed().length);
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertEquals("Not found", exception.getMessage());
+    }
+
+    @Test
+    void testCustomException_ConstructorIsNotShared() {
+        CustomException exception = new CustomException(HttpStatus.NOT_FOUND, "Not found");
+
+        assertFalse(exception.isShared());
+        assertTrue(exception.getStackTrace().length > 0);
+    }
+
     @Test
     void testCustomException_IsInstanceOfException() {
         CustomException exception = new CustomException(HttpStatus.BAD_REQUEST, "Error");
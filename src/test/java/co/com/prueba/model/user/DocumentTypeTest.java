@@ -38,6 +38,42 @@ class DocumentTypeTest {
         assertEquals(DocumentType.C, c);
     }
 
+    @Test
+    void testFromCode() {
+        assertEquals(DocumentType.C, DocumentType.fromCode("C"));
+        assertEquals(DocumentType.C, DocumentType.fromCode("c"));
+        assertEquals(DocumentType.P, DocumentType.fromCode("P"));
+        assertEquals(DocumentType.P, DocumentType.fromCode("p"));
+        assertNull(DocumentType.fromCode("X"));
+        assertNull(DocumentType.fromCode("CC"));
+        assertNull(DocumentType.fromCode(""));
+        assertNull(DocumentType.fromCode(null));
+        assertNull(DocumentType.fromCode("\u00d1"));
+    }
+
+    @Test
+    void testIsValidNumber_Cedula() {
+        assertTrue(DocumentType.C.isValidNumber("23445322"));
+        assertTrue(DocumentType.C.isValidNumber("123"));
+        assertTrue(DocumentType.C.isValidNumber("1234567890"));
+        assertFalse(DocumentType.C.isValidNumber("12"));
+        assertFalse(DocumentType.C.isValidNumber("12345678901"));
+        assertFalse(DocumentType.C.isValidNumber("AB123456"));
+        assertFalse(DocumentType.C.isValidNumber("23.445.322"));
+        assertFalse(DocumentType.C.isValidNumber(""));
+        assertFalse(DocumentType.C.isValidNumber(null));
+    }
+
+    @Test
+    void testIsValidNumber_Pasaporte() {
+        assertTrue(DocumentType.P.isValidNumber("AB123456"));
+        assertTrue(DocumentType.P.isValidNumber("ab12"));
+        assertTrue(DocumentType.P.isValidNumber("12345678901"));
+        assertFalse(DocumentType.P.isValidNumber("AB1"));
+        assertFalse(DocumentType.P.isValidNumber("AB1234567890"));
+        assertFalse(DocumentType.P.isValidNumber("AB-12345"));
+    }
+
     private boolean contains(DocumentType[] types, DocumentType type) {
         for (DocumentType t : types) {
             if (t == type) {
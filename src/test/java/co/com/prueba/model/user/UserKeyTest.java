@@ -0,0 +1,70 @@
+package co.com.prueba.model.user;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserKeyTest {
+
+    @Test
+    void testEncode_RoundTrip() {
+        long key = UserKey.encode("C", "23445322");
+
+        assertNotEquals(UserKey.INVALID, key);
+        assertEquals(DocumentType.C, UserKey.documentType(key));
+        assertEquals("23445322", UserKey.documentNumber(key));
+    }
+
+    @Test
+    void testEncode_AlphanumericPassport() {
+        long key = UserKey.encode("P", "AB1234567");
+
+        assertEquals(DocumentType.P, UserKey.documentType(key));
+        assertEquals("AB1234567", UserKey.documentNumber(key));
+    }
+
+    @Test
+    void testEncode_CaseInsensitive() {
+        assertEquals(UserKey.encode("C", "23445322"), UserKey.encode("c", "23445322"));
+        assertEquals(UserKey.encode("P", "AB12"), UserKey.encode("p", "ab12"));
+    }
+
+    @Test
+    void testEncode_DistinguishesTypeAndLeadingZeros() {
+        assertNotEquals(UserKey.encode("C", "23445322"), UserKey.encode("P", "23445322"));
+        assertNotEquals(UserKey.encode("C", "123"), UserKey.encode("C", "0123"));
+    }
+
+    @Test
+    void testEncode_MaxLength() {
+        long key = UserKey.encode("P", "ZZZZZZZZZZZ");
+
+        assertNotEquals(UserKey.INVALID, key);
+        assertEquals("ZZZZZZZZZZZ", UserKey.documentNumber(key));
+    }
+
+    @Test
+    void testEncode_Invalid() {
+        assertEquals(UserKey.INVALID, UserKey.encode("X", "23445322"));
+        assertEquals(UserKey.INVALID, UserKey.encode(null, "23445322"));
+        assertEquals(UserKey.INVALID, UserKey.encode("C", null));
+        assertEquals(UserKey.INVALID, UserKey.encode("C", ""));
+        assertEquals(UserKey.INVALID, UserKey.encode("C", "123456789012"));
+        assertEquals(UserKey.INVALID, UserKey.encode("C", "12-34"));
+    }
+
+    @Test
+    void testEncode_FromRequest() {
+        UserRequest request = UserRequest.builder()
+                .documentType("C")
+                .documentNumber("23445322")
+                .build();
+
+        assertEquals(UserKey.encode("C", "23445322"), UserKey.encode(request));
+    }
+
+    @Test
+    void testDocumentType_InvalidKey() {
+        assertNull(UserKey.documentType(UserKey.INVALID));
+    }
+}
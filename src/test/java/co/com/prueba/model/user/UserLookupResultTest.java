@@ -0,0 +1,52 @@
+package co.com.prueba.model.user;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserLookupResultTest {
+
+    private final UserRequest request = new UserRequest("C", "23445322");
+
+    @Test
+    void testFound() {
+        UserResponse user = UserResponse.builder().firstName("Daniel").build();
+
+        UserLookupResult result = UserLookupResult.found(request, user);
+
+        assertEquals("C", result.getDocumentType());
+        assertEquals("23445322", result.getDocumentNumber());
+        assertEquals(LookupStatus.FOUND, result.getStatus());
+        assertSame(user, result.getUser());
+        assertNull(result.getMessage());
+    }
+
+    @Test
+    void testNotFound() {
+        UserLookupResult result = UserLookupResult.notFound(request, "No existe el usuario.");
+
+        assertEquals(LookupStatus.NOT_FOUND, result.getStatus());
+        assertEquals("No existe el usuario.", result.getMessage());
+        assertNull(result.getUser());
+    }
+
+    @Test
+    void testBadRequest() {
+        UserLookupResult result = UserLookupResult.badRequest(request, "Documento invalido");
+
+        assertEquals(LookupStatus.BAD_REQUEST, result.getStatus());
+        assertEquals("Documento invalido", result.getMessage());
+    }
+
+    @Test
+    void testBuilder() {
+        UserLookupResult result = UserLookupResult.builder()
+                .documentType("P")
+                .documentNumber("AB1")
+                .status(LookupStatus.NOT_FOUND)
+                .build();
+
+        assertEquals("P", result.getDocumentType());
+        assertEquals(LookupStatus.NOT_FOUND, result.getStatus());
+    }
+}
@@ -0,0 +1,43 @@
+package co.com.prueba.model.user;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserVersionTest {
+
+    private UserResponse user(String firstName, String secondName) {
+        return UserResponse.builder()
+                .firstName(firstName)
+                .secondName(secondName)
+                .firstLastName("Buritica")
+                .residenceCity("Bogota")
+                .build();
+    }
+
+    @Test
+    void sameContentHasSameVersion() {
+        assertEquals(UserVersion.of(user("Daniel", "Ricardo")), UserVersion.of(user("Daniel", "Ricardo")));
+    }
+
+    @Test
+    void changedFieldChangesVersion() {
+        assertNotEquals(UserVersion.of(user("Daniel", "Ricardo")), UserVersion.of(user("Daniel", "Ricardp")));
+    }
+
+    @Test
+    void fieldBoundariesAreSignificant() {
+        assertNotEquals(UserVersion.of(user("Dan", "iel")), UserVersion.of(user("Da", "niel")));
+    }
+
+    @Test
+    void nullDiffersFromEmpty() {
+        assertNotEquals(UserVersion.of(user("Daniel", null)), UserVersion.of(user("Daniel", "")));
+    }
+
+    @Test
+    void isStableAcrossRuns() {
+        // El valor no debe cambiar entre versiones de la aplicacion: los clientes guardan el ETag
+        assertEquals("bec9ad06e19d6d72", UserVersion.of(new UserResponse()));
+    }
+}
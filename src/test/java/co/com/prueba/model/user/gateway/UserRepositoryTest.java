@@ -0,0 +1,69 @@
+package co.com.prueba.model.user.gateway;
+
+import co.com.prueba.model.exception.CustomException;
+import co.com.prueba.model.user.LookupStatus;
+import co.com.prueba.model.user.UserRequest;
+import co.com.prueba.model.user.UserResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserRepositoryTest {
+
+    private final UserResponse user = UserResponse.builder().firstName("Daniel").build();
+
+    @Test
+    void testFindByUsers_KeepsRequestOrder() {
+        UserRepository repository = request -> switch (request.getDocumentNumber()) {
+            case "1" -> Mono.just(user).delayElement(Duration.ofMillis(50));
+            case "2" -> Mono.error(new CustomException(HttpStatus.NOT_FOUND, "No existe el usuario."));
+            default -> Mono.empty();
+        };
+
+        StepVerifier.create(repository.findByUsers(Flux.just(
+                        new UserRequest("C", "1"), new UserRequest("C", "2"), new UserRequest("C", "3"))))
+                .assertNext(result -> {
+                    assertEquals("1", result.getDocumentNumber());
+                    assertEquals(LookupStatus.FOUND, result.getStatus());
+                    assertSame(user, result.getUser());
+                })
+                .assertNext(result -> {
+                    assertEquals("2", result.getDocumentNumber());
+                    assertEquals(LookupStatus.NOT_FOUND, result.getStatus());
+                    assertEquals("No existe el usuario.", result.getMessage());
+                })
+                .assertNext(result -> {
+                    assertEquals("3", result.getDocumentNumber());
+                    assertEquals(LookupStatus.NOT_FOUND, result.getStatus());
+                    assertEquals(UserRepository.USER_NOT_FOUND, result.getMessage());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindByUsers_PropagatesUnexpectedErrors() {
+        UserRepository repository = request -> Mono.error(
+                new CustomException(HttpStatus.INTERNAL_SERVER_ERROR, "Falla"));
+
+        StepVerifier.create(repository.findByUsers(Flux.just(new UserRequest("C", "1"))))
+                .expectError(CustomException.class)
+                .verify();
+    }
+
+    @Test
+    void testFindByUsers_RespectsDemand() {
+        UserRepository repository = request -> Mono.just(user);
+
+        StepVerifier.create(repository.findByUsers(Flux.range(0, 1_000_000)
+                        .map(i -> new UserRequest("C", String.valueOf(i)))), 2)
+                .expectNextCount(2)
+                .thenCancel()
+                .verify();
+    }
+}
@@ -1,8 +1,12 @@
 package co.com.prueba.usecase;
 
 import co.com.prueba.model.user.DocumentType;
+import co.com.prueba.model.user.LookupStatus;
+import co.com.prueba.model.user.UserLookupResult;
 import co.com.prueba.model.user.UserRequest;
 import co.com.prueba.model.user.UserResponse;
+import co.com.prueba.model.user.UserVersion;
+import co.com.prueba.model.user.VersionedUser;
 import co.com.prueba.model.exception.CustomException;
 import co.com.prueba.model.user.gateway.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -11,9 +15,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -80,6 +89,14 @@ class UserUseCaseTest {
                 .verifyErrorMatches(ex -> ex instanceof CustomException && ((CustomException) ex).getStatus() == HttpStatus.BAD_REQUEST);
     }
 
+    @Test
+    public void testFindUserByDocument_ReusesSharedErrors() {
+        StepVerifier.create(userUseCase.findUserByDocument(new UserRequest("Z", "23445322")))
+                .verifyErrorMatches(ex -> ex == UserUseCase.DOCUMENT_TYPE_ERROR);
+        StepVerifier.create(userUseCase.findUserByDocument(new UserRequest("C", "12")))
+                .verifyErrorMatches(ex -> ex == UserUseCase.DOCUMENT_NUMBER_ERROR);
+    }
+
     @Test
     public void testDocumentTypeValidate_P() {
         UserRequest requestValid = UserRequest.builder()
@@ -148,4 +165,106 @@ class UserUseCaseTest {
                         ((CustomException) ex).getStatus() == HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    public void testFindUsersByDocument_MixesValidAndInvalidInOrder() {
+        UserResponse response = UserResponse.builder().firstName("Daniel").build();
+        when(userRepository.findByUsers(any())).thenAnswer(invocation -> {
+            Flux<UserRequest> requests = invocation.getArgument(0);
+            return requests.map(request -> UserLookupResult.found(request, response));
+        });
+
+        userUseCase.findUsersByDocument(Flux.just(
+                        new UserRequest("C", "1001"),
+                        new UserRequest("C", "1002"),
+                        new UserRequest("X", "1003"),
+                        new UserRequest("P", "1004")))
+                .as(StepVerifier::create)
+                .expectNextMatches(result -> "1001".equals(result.getDocumentNumber())
+                        && result.getStatus() == LookupStatus.FOUND)
+                .expectNextMatches(result -> "1002".equals(result.getDocumentNumber())
+                        && result.getStatus() == LookupStatus.FOUND)
+                .expectNextMatches(result -> "1003".equals(result.getDocumentNumber())
+                        && result.getStatus() == LookupStatus.BAD_REQUEST
+                        && UserUseCase.ERROR_MESSAGE_DOCUMENT_TYPE.equals(result.getMessage()))
+                .expectNextMatches(result -> "1004".equals(result.getDocumentNumber())
+                        && result.getStatus() == LookupStatus.FOUND)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testFindUsersByDocument_Empty() {
+        userUseCase.findUsersByDocument(Flux.empty())
+                .as(StepVerifier::create)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testFindUserByDocument_MalformedNumber() {
+        UserRequest request = UserRequest.builder()
+                .documentType("C")
+                .documentNumber("23.445.322")
+                .build();
+
+        userUseCase.findUserByDocument(request)
+                .as(StepVerifier::create)
+                .verifyErrorMatches(ex -> ex instanceof CustomException customException
+                        && customException.getStatus() == HttpStatus.BAD_REQUEST
+                        && UserUseCase.ERROR_MESSAGE_DOCUMENT_NUMBER.equals(customException.getMessage()));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    public void testFindUserByDocument_RepositoryEmpty() {
+        UserRequest request = UserRequest.builder()
+                .documentType("C")
+                .documentNumber("23445322")
+                .build();
+        when(userRepository.findByUser(request)).thenReturn(Mono.empty());
+
+        userUseCase.findUserByDocument(request)
+                .as(StepVerifier::create)
+                .verifyErrorMatches(ex -> ex instanceof CustomException customException
+                        && customException.getStatus() == HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    public void testValidationError() {
+        assertNull(userUseCase.validationError(new UserRequest("C", "23445322")));
+        assertEquals(UserUseCase.ERROR_MESSAGE_DOCUMENT_TYPE,
+                userUseCase.validationError(new UserRequest("X", "23445322")));
+        assertEquals(UserUseCase.ERROR_MESSAGE_DOCUMENT_NUMBER,
+                userUseCase.validationError(new UserRequest("P", "A-1")));
+        assertEquals(UserUseCase.ERROR_MESSAGE_DOCUMENT_NUMBER,
+                userUseCase.validationError(new UserRequest("C", "")));
+    }
+
+    @Test
+    public void testFindUsersByDocument_MalformedNumberIsBadRequest() {
+        userUseCase.findUsersByDocument(Flux.just(new UserRequest("C", "ABC")))
+                .as(StepVerifier::create)
+                .expectNextMatches(result -> result.getStatus() == LookupStatus.BAD_REQUEST
+                        && UserUseCase.ERROR_MESSAGE_DOCUMENT_NUMBER.equals(result.getMessage()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testFindVersionedUserByDocumentOk() {
+        UserRequest request = new UserRequest("C", "23445322");
+        UserResponse user = UserResponse.builder().firstName("Daniel").build();
+        when(userRepository.findVersionedByUser(request)).thenReturn(Mono.just(VersionedUser.of(user)));
+
+        userUseCase.findVersionedUserByDocument(request)
+                .as(StepVerifier::create)
+                .expectNextMatches(versioned -> versioned.user() == user
+                        && versioned.version().equals(UserVersion.of(user)))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testFindVersionedUserByDocument_InvalidSkipsRepository() {
+        userUseCase.findVersionedUserByDocument(new UserRequest("X", "23445322"))
+                .as(StepVerifier::create)
+                .verifyErrorMatches(ex -> ex == UserUseCase.DOCUMENT_TYPE_ERROR);
+        verifyNoInteractions(userRepository);
+    }
 }